@@ -0,0 +1,49 @@
+package jpabook.jpashop.benchmark;
+
+import jpabook.jpashop.JpashopApplication;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * 벤치마크용 스프링 컨텍스트
+ * - 벤치마크마다 독립된 인메모리 H2 를 사용하고, 웹 서버와 SQL 로그는 끈다.
+ * - properties 는 "key=value" 형식, 기본값을 덮어쓴다.
+ */
+public final class BenchmarkContext {
+
+    private BenchmarkContext() {
+    }
+
+    public static ConfigurableApplicationContext start(String... properties) {
+        System.setProperty("spring.devtools.restart.enabled", "false");
+
+        Map<String, String> args = new LinkedHashMap<>();
+        args.put("spring.datasource.url", "jdbc:h2:mem:bench-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        args.put("spring.datasource.username", "sa");
+        args.put("spring.datasource.password", "");
+        args.put("spring.jpa.hibernate.ddl-auto", "validate");     // 스키마는 Flyway 마이그레이션 (운영과 같은 인덱스)
+        args.put("spring.jpa.open-in-view", "false");
+        args.put("decorator.datasource.enabled", "false");
+        args.put("jpashop.sql-log.enabled", "false");
+        args.put("logging.level.root", "warn");
+        args.put("logging.level.org.hibernate.SQL", "warn");
+        args.put("logging.level.org.hibernate.orm.jdbc.bind", "warn");
+
+        /* 같은 키는 덮어쓴다 (명령행 인자는 중복되면 값이 합쳐진다) */
+        for (String property : properties) {
+            int separator = property.indexOf('=');
+            args.put(property.substring(0, separator), property.substring(separator + 1));
+        }
+
+        SpringApplication application = new SpringApplication(JpashopApplication.class);
+        application.setWebApplicationType(WebApplicationType.NONE);
+        return application.run(args.entrySet().stream()
+                .map(entry -> "--" + entry.getKey() + "=" + entry.getValue())
+                .toArray(String[]::new));
+    }
+}
@@ -0,0 +1,72 @@
+package jpabook.jpashop.benchmark;
+
+import jakarta.persistence.EntityManager;
+import jpabook.jpashop.domain.Address;
+import jpabook.jpashop.domain.Delivery;
+import jpabook.jpashop.domain.DeliveryStatus;
+import jpabook.jpashop.domain.Member;
+import jpabook.jpashop.domain.Order;
+import jpabook.jpashop.domain.OrderItem;
+import jpabook.jpashop.domain.Item.Book;
+import org.springframework.context.ApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * 벤치마크용 데이터 생성
+ */
+public final class BenchmarkData {
+
+    private static final int FLUSH_INTERVAL = 100;
+
+    private BenchmarkData() {
+    }
+
+    /* 회원 members 명, 회원당 주문 ordersPerMember 건, 주문당 상품 itemsPerOrder 개 */
+    public static void seed(ApplicationContext context, int members, int ordersPerMember, int itemsPerOrder) {
+        EntityManager em = context.getBean(EntityManager.class);
+        TransactionTemplate tx = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+
+        tx.executeWithoutResult(status -> {
+            Book[] books = new Book[itemsPerOrder];
+            for (int i = 0; i < itemsPerOrder; i++) {
+                Book book = new Book();
+                book.setName("BOOK-" + i);
+                book.setPrice(10000 + i * 1000);
+                book.setStockQuantity(Integer.MAX_VALUE);
+                em.persist(book);
+                books[i] = book;
+            }
+
+            int persisted = 0;
+            for (int m = 0; m < members; m++) {
+                Member member = new Member();
+                member.setName("bench-member-" + m);
+                member.setAddress(new Address("city-" + m, "street", "00000"));
+                em.persist(member);
+
+                for (int o = 0; o < ordersPerMember; o++) {
+                    OrderItem[] orderItems = new OrderItem[itemsPerOrder];
+                    for (int i = 0; i < itemsPerOrder; i++) {
+                        orderItems[i] = OrderItem.createOrderItem(books[i], books[i].getPrice(), 1);
+                    }
+
+                    Delivery delivery = new Delivery();
+                    delivery.setAddress(member.getAddress());
+                    delivery.setStatus(DeliveryStatus.READY);
+
+                    em.persist(Order.createOrder(member, delivery, orderItems));
+
+                    if (++persisted % FLUSH_INTERVAL == 0) {
+                        em.flush();
+                        em.clear();
+                        for (int i = 0; i < itemsPerOrder; i++) {
+                            books[i] = em.find(Book.class, books[i].getId());
+                        }
+                        member = em.find(Member.class, member.getId());
+                    }
+                }
+            }
+        });
+    }
+}
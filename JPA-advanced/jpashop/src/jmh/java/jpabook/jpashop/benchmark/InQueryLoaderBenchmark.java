@@ -0,0 +1,93 @@
+package jpabook.jpashop.benchmark;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jpabook.jpashop.repository.InQueryLoader;
+import jpabook.jpashop.repository.order.query.OrderItemQueryDto;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 주문 상품 IN 절 조회 비교
+ * - singleIn : 기존 V5 방식, IN 절 하나. 하이버네이트 패딩으로 2의 거듭제곱 개가 되지만 목록만큼 파라미터가 늘어난다.
+ * - chunked / chunkedParallel : InQueryLoader, 최대 512 개 묶음 (묶음마다 하이버네이트 패딩)
+ * 매 호출마다 조회할 주문 수를 바꿔서 SQL 모양이 계속 달라지는 실제 상황을 흉내 낸다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class InQueryLoaderBenchmark {
+
+    private static final String ORDER_ITEM_QUERY = "select new jpabook.jpashop.repository.order.query.OrderItemQueryDto" +
+            "(oi.order.id, i.name, oi.orderPrice, oi.count)" +
+            " from OrderItem oi" +
+            " join oi.item i" +
+            " where oi.order.id in :orderIds";
+
+    @Param({"500", "5000"})
+    public int orderCount;
+
+    private ConfigurableApplicationContext context;
+    private EntityManagerFactory emf;
+    private InQueryLoader inQueryLoader;
+    private List<Long> orderIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        BenchmarkData.seed(context, orderCount, 1, 3);
+
+        emf = context.getBean(EntityManagerFactory.class);
+        inQueryLoader = context.getBean(InQueryLoader.class);
+
+        EntityManager em = emf.createEntityManager();
+        try {
+            orderIds = em.createQuery("select o.id from Order o order by o.id", Long.class).getResultList();
+        } finally {
+            em.close();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<OrderItemQueryDto> singleIn() {
+        List<Long> ids = randomIds();
+        EntityManager em = emf.createEntityManager();
+        try {
+            return em.createQuery(ORDER_ITEM_QUERY, OrderItemQueryDto.class)
+                    .setParameter("orderIds", ids)
+                    .getResultList();
+        } finally {
+            em.close();
+        }
+    }
+
+    @Benchmark
+    public List<OrderItemQueryDto> chunked() {
+        return inQueryLoader.load(randomIds(), (entityManager, chunk) ->
+                entityManager.createQuery(ORDER_ITEM_QUERY, OrderItemQueryDto.class)
+                        .setParameter("orderIds", chunk)
+                        .getResultList());
+    }
+
+    @Benchmark
+    public List<OrderItemQueryDto> chunkedParallel() {
+        return inQueryLoader.loadParallel(randomIds(), (entityManager, chunk) ->
+                entityManager.createQuery(ORDER_ITEM_QUERY, OrderItemQueryDto.class)
+                        .setParameter("orderIds", chunk)
+                        .getResultList());
+    }
+
+    private List<Long> randomIds() {
+        int size = ThreadLocalRandom.current().nextInt(1, orderIds.size() + 1);
+        return orderIds.subList(0, size);
+    }
+}
@@ -0,0 +1,88 @@
+package jpabook.jpashop.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jpabook.jpashop.api.OrderApiController;
+import jpabook.jpashop.api.OrderSimpleApiController;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * 주문 조회 API 버전별 비교
+ * - orders V1 ~ V6, simple-orders V1 ~ V4
+ * - 초당 처리량(Throughput) + 지연 시간 분포(SampleTime, p50 / p90 / p99 ...)
+ * - 할당량은 gc 프로파일러 (build.gradle jmh.profilers) 의 gc.alloc.rate.norm
+ * 한 번의 호출 = 읽기 전용 트랜잭션에서 컨트롤러 호출 + JSON 직렬화 (OSIV 와 같이 직렬화 중 지연 로딩 허용)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class OrderApiBenchmark {
+
+    @Param({"orders-v1", "orders-v2", "orders-v3", "orders-v3.1", "orders-v4", "orders-v5", "orders-v6",
+            "simple-v1", "simple-v2", "simple-v3", "simple-v4"})
+    public String variant;
+
+    @Param({"100", "1000"})
+    public int members;
+
+    @Param({"1", "5"})
+    public int ordersPerMember;
+
+    @Param({"2", "10"})
+    public int itemsPerOrder;
+
+    private ConfigurableApplicationContext context;
+    private TransactionTemplate readOnlyTx;
+    private ObjectMapper objectMapper;
+    private Supplier<Object> call;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        BenchmarkData.seed(context, members, ordersPerMember, itemsPerOrder);
+
+        readOnlyTx = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnlyTx.setReadOnly(true);
+        objectMapper = context.getBean(ObjectMapper.class);
+
+        OrderApiController orders = context.getBean(OrderApiController.class);
+        OrderSimpleApiController simpleOrders = context.getBean(OrderSimpleApiController.class);
+        int allOrders = members * ordersPerMember;
+
+        call = switch (variant) {
+            case "orders-v1" -> orders::ordersV1;
+            case "orders-v2" -> orders::ordersV2;
+            case "orders-v3" -> orders::ordersV3;
+            case "orders-v3.1" -> () -> orders.ordersV3_page(0, allOrders);
+            case "orders-v4" -> orders::ordersV4;
+            case "orders-v5" -> orders::ordersV5;
+            case "orders-v6" -> orders::ordersV6;
+            case "simple-v1" -> simpleOrders::ordersV1;
+            case "simple-v2" -> simpleOrders::ordersV2;
+            case "simple-v3" -> simpleOrders::ordersV3;
+            case "simple-v4" -> simpleOrders::ordersV4;
+            default -> throw new IllegalArgumentException("알 수 없는 variant: " + variant);
+        };
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public byte[] fetch() {
+        return readOnlyTx.execute(status -> {
+            try {
+                return objectMapper.writeValueAsBytes(call.get());
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+    }
+}
@@ -0,0 +1,77 @@
+package jpabook.jpashop.benchmark;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.hibernate5.jakarta.Hibernate5JakartaModule;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jpabook.jpashop.json.OrderJsonWriter;
+import jpabook.jpashop.domain.Address;
+import jpabook.jpashop.domain.OrderStatus;
+import jpabook.jpashop.repository.order.query.OrderItemQueryDto;
+import jpabook.jpashop.repository.order.query.OrderQueryDto;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 주문 DTO 목록 JSON 직렬화 비교
+ * - objectMapper  : 기존 방식 (Jackson 리플렉션 + Hibernate5 모듈)
+ * - orderJsonWriter : OrderJsonWriter
+ * 출력은 버리는 스트림, 할당량은 gc 프로파일러의 gc.alloc.rate.norm 으로 비교
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class OrderJsonBenchmark {
+
+    @Param({"100", "10000"})
+    public int orders;
+
+    @Param({"3"})
+    public int itemsPerOrder;
+
+    private ObjectMapper objectMapper;
+    private OrderJsonWriter orderJsonWriter;
+    private List<OrderQueryDto> dtos;
+    private final OutputStream out = OutputStream.nullOutputStream();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .registerModule(new Hibernate5JakartaModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        orderJsonWriter = new OrderJsonWriter(objectMapper);
+
+        LocalDateTime now = LocalDateTime.now();
+        dtos = new ArrayList<>(orders);
+        for (long o = 1; o <= orders; o++) {
+            OrderQueryDto dto = new OrderQueryDto(o, "member-" + o, now.minusMinutes(o), OrderStatus.ORDER,
+                    new Address("서울", "한강변 " + o, "123123"), 0);
+            List<OrderItemQueryDto> items = new ArrayList<>(itemsPerOrder);
+            for (int i = 0; i < itemsPerOrder; i++) {
+                items.add(new OrderItemQueryDto(o, "BOOK-" + i, 10000 + i * 1000, i + 1));
+            }
+            dto.setOrderItems(items);
+            dtos.add(dto);
+        }
+    }
+
+    @Benchmark
+    public void objectMapper() throws IOException {
+        objectMapper.writeValue(out, dtos);
+    }
+
+    @Benchmark
+    public void orderJsonWriter() throws IOException {
+        try (JsonGenerator generator = orderJsonWriter.createGenerator(out)) {
+            orderJsonWriter.writeArray(generator, dtos, orderJsonWriter::write);
+        }
+    }
+}
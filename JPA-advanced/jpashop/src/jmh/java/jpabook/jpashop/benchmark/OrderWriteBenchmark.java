@@ -0,0 +1,109 @@
+package jpabook.jpashop.benchmark;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jpabook.jpashop.domain.Address;
+import jpabook.jpashop.domain.Item.Book;
+import jpabook.jpashop.domain.Member;
+import jpabook.jpashop.dto.CartLine;
+import jpabook.jpashop.service.OrderService;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 주문 저장 경로 비교 (JDBC 배치 X / O)
+ * - 점수 : 초당 주문 수
+ * - 종료 시점에 주문 1건당 prepared statement 수를 출력한다. (Hibernate Statistics)
+ * 데이터는 InitDb 와 같은 방식으로 회원 / 책을 만든다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class OrderWriteBenchmark {
+
+    @Param({"0", "50"})
+    public int batchSize;
+
+    @Param({"2", "10"})
+    public int itemsPerOrder;
+
+    private ConfigurableApplicationContext context;
+    private OrderService orderService;
+    private Statistics statistics;
+
+    private Long memberId;
+    private final List<Long> itemIds = new ArrayList<>();
+    private final AtomicLong orders = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start(
+                "spring.jpa.properties.hibernate.jdbc.batch_size=" + batchSize,
+                "spring.jpa.properties.hibernate.generate_statistics=true",
+                "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=warn");
+        orderService = context.getBean(OrderService.class);
+        statistics = context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+
+        EntityManager em = context.getBean(EntityManager.class);
+        new TransactionTemplate(context.getBean(PlatformTransactionManager.class)).executeWithoutResult(status -> {
+            Member member = new Member();
+            member.setName("bench-writer");
+            member.setAddress(new Address("서울", "한강변", "123123"));
+            em.persist(member);
+            memberId = member.getId();
+
+            for (int i = 0; i < 100; i++) {
+                Book book = new Book();
+                book.setName("JPA" + i + " BOOK");
+                book.setPrice(10000 + i * 100);
+                book.setStockQuantity(Integer.MAX_VALUE);
+                em.persist(book);
+                itemIds.add(book.getId());
+            }
+        });
+    }
+
+    @Setup(Level.Iteration)
+    public void resetStatistics() {
+        statistics.clear();
+        orders.set(0);
+    }
+
+    @TearDown(Level.Iteration)
+    public void report() {
+        long count = Math.max(orders.get(), 1);
+        System.out.printf("%n[batch_size=%d, items=%d] statements/order=%.2f inserts/order=%.2f%n",
+                batchSize, itemsPerOrder,
+                (double) statistics.getPrepareStatementCount() / count,
+                (double) statistics.getEntityInsertCount() / count);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Long placeOrder() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        List<CartLine> cartLines = new ArrayList<>(itemsPerOrder);
+        int offset = random.nextInt(itemIds.size() - itemsPerOrder);
+        for (int i = 0; i < itemsPerOrder; i++) {
+            cartLines.add(new CartLine(itemIds.get(offset + i), 1));
+        }
+
+        Long orderId = orderService.checkout(memberId, cartLines);
+        orders.incrementAndGet();
+        return orderId;
+    }
+}
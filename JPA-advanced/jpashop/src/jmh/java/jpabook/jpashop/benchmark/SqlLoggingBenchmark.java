@@ -0,0 +1,98 @@
+package jpabook.jpashop.benchmark;
+
+import jakarta.persistence.EntityManager;
+import jpabook.jpashop.domain.Address;
+import jpabook.jpashop.domain.Item.Book;
+import jpabook.jpashop.domain.Member;
+import jpabook.jpashop.service.OrderService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SQL 로그 설정별 주문 처리량 비교
+ * - p6spy-bind-trace : 기존 설정 (p6spy + org.hibernate.SQL=debug + org.hibernate.orm.jdbc.bind=trace)
+ * - sampled          : SqlLogger 100건 중 1건
+ * - slow-only        : SqlLogger 100ms 이상만
+ * - off              : SQL 로그 없음
+ * 콘솔 출력은 버리는 스트림으로 바꿔서 I/O 가 아닌 포맷팅 / 로깅 경로 비용만 잰다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class SqlLoggingBenchmark {
+
+    @Param({"p6spy-bind-trace", "sampled", "slow-only", "off"})
+    public String logging;
+
+    private ConfigurableApplicationContext context;
+    private OrderService orderService;
+    private PrintStream originalOut;
+
+    private Long memberId;
+    private final List<Long> itemIds = new ArrayList<>();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        originalOut = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+
+        context = switch (logging) {
+            case "p6spy-bind-trace" -> BenchmarkContext.start(
+                    "decorator.datasource.enabled=true",
+                    "logging.level.p6spy=info",
+                    "logging.level.org.hibernate.SQL=debug",
+                    "logging.level.org.hibernate.orm.jdbc.bind=trace");
+            case "sampled" -> BenchmarkContext.start(
+                    "jpashop.sql-log.enabled=true",
+                    "jpashop.sql-log.sample-rate=100",
+                    "jpashop.sql-log.slow-threshold-millis=0",
+                    "logging.level.jpashop.sql=info");
+            case "slow-only" -> BenchmarkContext.start(
+                    "jpashop.sql-log.enabled=true",
+                    "jpashop.sql-log.sample-rate=0",
+                    "jpashop.sql-log.slow-threshold-millis=100",
+                    "logging.level.jpashop.sql=info");
+            default -> BenchmarkContext.start();
+        };
+        orderService = context.getBean(OrderService.class);
+
+        EntityManager em = context.getBean(EntityManager.class);
+        new TransactionTemplate(context.getBean(PlatformTransactionManager.class)).executeWithoutResult(status -> {
+            Member member = new Member();
+            member.setName("bench-logger");
+            member.setAddress(new Address("서울", "한강변", "123123"));
+            em.persist(member);
+            memberId = member.getId();
+
+            for (int i = 0; i < 100; i++) {
+                Book book = new Book();
+                book.setName("JPA" + i + " BOOK");
+                book.setPrice(10000 + i * 100);
+                book.setStockQuantity(Integer.MAX_VALUE);
+                em.persist(book);
+                itemIds.add(book.getId());
+            }
+        });
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+        System.setOut(originalOut);
+    }
+
+    @Benchmark
+    public Long placeOrder() {
+        Long itemId = itemIds.get(ThreadLocalRandom.current().nextInt(itemIds.size()));
+        return orderService.Order(memberId, itemId, 1);
+    }
+}
@@ -0,0 +1,91 @@
+package jpabook.jpashop.benchmark;
+
+import jakarta.persistence.EntityManager;
+import jpabook.jpashop.domain.Item.Book;
+import jpabook.jpashop.domain.Item.Item;
+import jpabook.jpashop.repository.ItemRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 같은 상품에 대한 동시 재고 차감 처리량 비교
+ * - entity : 기존 방식, 엔티티를 읽고 Item.removeStock 으로 차감한 뒤 dirty checking 으로 UPDATE (갱신 분실 발생)
+ * - atomic : ItemRepository.removeStock 조건부 UPDATE
+ * 종료 시점에 요청한 차감량과 실제 차감량을 비교해서 잃어버린 갱신 수를 출력한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(16)
+public class StockDecrementBenchmark {
+
+    private static final int INITIAL_STOCK = Integer.MAX_VALUE;
+
+    private ConfigurableApplicationContext context;
+    private EntityManager em;
+    private ItemRepository itemRepository;
+    private TransactionTemplate tx;
+
+    private Long entityItemId;
+    private Long atomicItemId;
+    private final AtomicLong entityRequested = new AtomicLong();
+    private final AtomicLong atomicRequested = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("spring.datasource.hikari.maximum-pool-size=16");
+        em = context.getBean(EntityManager.class);
+        itemRepository = context.getBean(ItemRepository.class);
+        tx = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+
+        entityItemId = createItem("ENTITY BOOK");
+        atomicItemId = createItem("ATOMIC BOOK");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        report("entity", entityItemId, entityRequested.get());
+        report("atomic", atomicItemId, atomicRequested.get());
+        context.close();
+    }
+
+    @Benchmark
+    public void entity() {
+        tx.executeWithoutResult(status -> {
+            Item item = em.find(Item.class, entityItemId);
+            item.removeStock(1);
+        });
+        entityRequested.incrementAndGet();
+    }
+
+    @Benchmark
+    public void atomic() {
+        tx.executeWithoutResult(status -> {
+            Item item = em.find(Item.class, atomicItemId);
+            itemRepository.removeStock(item, 1);
+        });
+        atomicRequested.incrementAndGet();
+    }
+
+    private Long createItem(String name) {
+        return tx.execute(status -> {
+            Book book = new Book();
+            book.setName(name);
+            book.setPrice(10000);
+            book.setStockQuantity(INITIAL_STOCK);
+            em.persist(book);
+            return book.getId();
+        });
+    }
+
+    private void report(String path, Long itemId, long requested) {
+        Integer stock = tx.execute(status -> em.find(Item.class, itemId).getStockQuantity());
+        long applied = (long) INITIAL_STOCK - stock;
+        System.out.printf("%n[%s] requested=%d applied=%d lostUpdates=%d%n", path, requested, applied, requested - applied);
+    }
+}
@@ -4,20 +4,28 @@ import jakarta.annotation.PostConstruct;
 import jakarta.persistence.EntityManager;
 import jpabook.jpashop.domain.*;
 import jpabook.jpashop.domain.Item.Book;
+import jpabook.jpashop.repository.TableVersionRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
 import static jpabook.jpashop.domain.DeliveryStatus.*;
 
+/* 샘플 데이터 2건 - seed 프로필에서는 DataSeeder 가 대신 대량 데이터를 만든다. */
 @Component
+@Profile("!seed")
 @RequiredArgsConstructor
 public class InitDb {
 
     private final InitService initService;
 
+    /* 스키마를 Flyway 로 유지하므로 재시작하면 이미 데이터가 있을 수 있다. */
     @PostConstruct
     public void init() {
+        if (initService.isInitialized()) {
+            return;
+        }
         initService.dbInit1();
         initService.dbInit2();
     }
@@ -30,11 +38,20 @@ public class InitDb {
     static class InitService {
 
         private final EntityManager em;
+        private final TableVersionRepository tableVersionRepository;
+
+        public boolean isInitialized() {
+            return !em.createQuery("select m.id from Member m where m.name = 'userA'", Long.class)
+                    .setMaxResults(1)
+                    .getResultList()
+                    .isEmpty();
+        }
 
         public void dbInit1() {
 
             Member member = createMember("userA", "서울", "한강변", "123123");
             em.persist(member);
+            tableVersionRepository.increment(TableVersionRepository.MEMBER);
 
             Book book1 = createBook("JPA1 BOOK", 10000, 100);
             em.persist(book1);
@@ -55,6 +72,7 @@ public class InitDb {
 
             Member member = createMember("userB", "충북", "거리", "456456");
             em.persist(member);
+            tableVersionRepository.increment(TableVersionRepository.MEMBER);
 
             Book book1 = createBook("SPRING1 BOOK", 20000, 200);
             em.persist(book1);
@@ -0,0 +1,104 @@
+package jpabook.jpashop.api;
+
+import jpabook.jpashop.domain.Category;
+import jpabook.jpashop.domain.Item.Item;
+import jpabook.jpashop.service.CategoryService;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@RestController
+@RequiredArgsConstructor
+public class CategoryApiController {
+
+    private final CategoryService categoryService;
+
+    /**
+     * 카테고리 하위 트리 조회 (1 Query)
+     * - path 접두어로 모든 깊이를 한 번에 조회하고 애플리케이션에서 트리로 묶는다.
+     * - 깊이 / 노드 수와 상관없이 쿼리 수가 일정
+     * - 경로가 없는 카테고리는 409
+     */
+    @GetMapping("/api/categories/{id}/tree")
+    public CategoryNode categoryTree(@PathVariable("id") Long id) {
+        List<Category> categories;
+        try {
+            categories = categoryService.findSubtree(id);
+        } catch (IllegalStateException e) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, e.getMessage(), e);
+        }
+
+        Map<Long, CategoryNode> nodes = new HashMap<>(categories.size() * 4 / 3 + 1);
+        CategoryNode root = null;
+        for (Category category : categories) {      // path 순이므로 상위 노드가 먼저 만들어진다.
+            CategoryNode node = new CategoryNode(category.getId(), category.getName(), new ArrayList<>());
+            nodes.put(category.getId(), node);
+
+            if (category.getId().equals(id)) {
+                root = node;
+            } else {
+                nodes.get(category.getParent().getId()).getChild().add(node);     // 프록시 id 접근, 초기화 X
+            }
+        }
+        return root;
+    }
+
+    /**
+     * 카테고리 하위 트리 전체의 상품 조회 (1 Query)
+     * - 경로가 없는 카테고리는 409
+     */
+    @GetMapping("/api/categories/{id}/items")
+    public Result<List<CategoryItemDto>> categoryItems(@PathVariable("id") Long id) {
+        List<Item> items;
+        try {
+            items = categoryService.findItemsUnder(id);
+        } catch (IllegalStateException e) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, e.getMessage(), e);
+        }
+        List<CategoryItemDto> collect = items.stream()
+                .map(item -> new CategoryItemDto(item))
+                .collect(Collectors.toList());
+
+        return new Result<>(collect.size(), collect);
+    }
+
+
+    @Data
+    @AllArgsConstructor
+    static class Result<T> {
+        private int count;
+        private T data;
+    }
+
+    @Data
+    @AllArgsConstructor
+    static class CategoryNode {
+        private Long id;
+        private String name;
+        private List<CategoryNode> child;
+    }
+
+    @Data
+    static class CategoryItemDto {
+        private Long itemId;
+        private String name;
+        private int price;
+
+        public CategoryItemDto(Item item) {
+            itemId = item.getId();
+            name = item.getName();
+            price = item.getPrice();
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package jpabook.jpashop.api;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * 키셋 페이징 응답
+ * - nextCursor 가 null 이면 마지막 페이지
+ */
+@Data
+@AllArgsConstructor
+public class CursorResult<T> {
+    private int count;
+    private List<T> data;
+    private String nextCursor;
+}
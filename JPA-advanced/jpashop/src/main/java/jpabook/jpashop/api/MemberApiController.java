@@ -2,11 +2,15 @@ package jpabook.jpashop.api;
 
 import jakarta.validation.Valid;
 import jpabook.jpashop.domain.Member;
+import jpabook.jpashop.repository.member.query.MemberQueryDto;
+import jpabook.jpashop.service.MemberNameIndex;
 import jpabook.jpashop.service.MemberService;
+import jpabook.jpashop.service.MemberTableVersion;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 import java.util.stream.Collectors;
@@ -17,6 +21,10 @@ import java.util.stream.Collectors;
 public class MemberApiController {
 
     private final MemberService memberService;
+    private final MemberTableVersion memberTableVersion;
+    private final MemberNameIndex memberNameIndex;
+
+    private static final int MAX_PAGE_SIZE = 1000;
 
     /* 회원 등록 api */
     @PostMapping("/api/members")
@@ -67,15 +75,48 @@ public class MemberApiController {
         private String name;
     }
     
-    /* 회원 목록 조회 */
+    /**
+     * 회원 목록 조회
+     * - page / size 또는 cursor(마지막 회원 id) / size 로 페이징, id 와 이름만 조회
+     * - ETag 는 회원 테이블 버전이므로 회원이 바뀌지 않았으면 DB 조회 없이 304 응답
+     */
     @GetMapping("/api/members")
-    public Result members() {
-        List<Member> findMembers = memberService.findMembers();
+    public CursorResult<MemberDto> members(@RequestParam(value = "page", defaultValue = "0") int page,
+                                           @RequestParam(value = "size", defaultValue = "100") int size,
+                                           @RequestParam(value = "cursor", required = false) Long cursor,
+                                           WebRequest webRequest) {
+        if (webRequest.checkNotModified("\"members-" + memberTableVersion.current() + "\"")) {
+            return null;
+        }
+
+        int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        List<MemberQueryDto> findMembers = cursor == null
+                ? memberService.findMemberPage(Math.max(page, 0), pageSize)
+                : memberService.findMemberPageAfter(cursor, pageSize);
+
         List<MemberDto> collect = findMembers.stream()
                 .map(member -> new MemberDto(member.getName()))
                 .collect(Collectors.toList());
 
-        return new Result(collect.size(), collect);
+        String nextCursor = findMembers.size() < pageSize
+                ? null
+                : String.valueOf(findMembers.get(findMembers.size() - 1).getId());
+
+        return new CursorResult<>(collect.size(), collect, nextCursor);
+    }
+
+    /**
+     * 회원 이름 접두어 검색 (주문 폼 자동완성)
+     * - 메모리 인덱스만 읽는다. (DB 조회 X) 결과는 이름 순서로 최대 50건
+     */
+    @GetMapping("/api/members/search")
+    public Result<List<MemberSearchDto>> searchMembers(@RequestParam("prefix") String prefix,
+                                                       @RequestParam(value = "limit", defaultValue = "10") int limit) {
+        List<MemberSearchDto> collect = memberNameIndex.search(prefix, limit).stream()
+                .map(member -> new MemberSearchDto(member.getId(), member.getName()))
+                .collect(Collectors.toList());
+
+        return new Result<>(collect.size(), collect);
     }
 
 
@@ -92,4 +133,12 @@ public class MemberApiController {
     static class MemberDto {
         private String name;
     }
+
+
+    @Data
+    @AllArgsConstructor
+    static class MemberSearchDto {
+        private Long id;
+        private String name;
+    }
 }
@@ -1,14 +1,23 @@
 package jpabook.jpashop.api;
 
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
 import jpabook.jpashop.domain.*;
+import jpabook.jpashop.dto.CartLine;
 import jpabook.jpashop.repository.OrderRepository;
 import jpabook.jpashop.repository.order.query.OrderQueryDto;
+import jpabook.jpashop.service.OrderExportService;
+import jpabook.jpashop.service.OrderService;
+import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
-import org.springframework.web.bind.annotation.GetMapping;
-import org.springframework.web.bind.annotation.RequestParam;
-import org.springframework.web.bind.annotation.RestController;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.io.IOException;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -18,6 +27,10 @@ import java.util.stream.Collectors;
 public class OrderApiController {
 
     private final OrderRepository orderRepository;
+    private final OrderExportService orderExportService;
+    private final OrderService orderService;
+
+    private static final int MAX_PAGE_SIZE = 1000;
 
     /**
      * V1. 엔티티 직접 노출
@@ -83,6 +96,37 @@ public class OrderApiController {
         return result;
     }
 
+    /**
+     * V3.2 엔티티를 조회해서 DTO로 변환 키셋 페이징
+     * - offset 대신 커서(마지막 orderDate + orderId) 이후를 조회하므로 깊은 페이지도 첫 페이지와 비용이 같다.
+     * - 컬렉션 관계는 V3.1과 동일하게 @BatchSize로 최적화
+     * - limit 은 1 ~ MAX_PAGE_SIZE 로 맞추고, 잘못된 커서는 400
+     */
+    @GetMapping("/api/v3.2/orders")
+    public CursorResult<OrderDto> ordersV3_cursor(@RequestParam(value = "cursor", required = false) String cursor,
+                                                  @RequestParam(value = "limit", defaultValue = "100") int limit) {
+        int pageSize = Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+        OrderCursor orderCursor;
+        try {
+            orderCursor = OrderCursor.decode(cursor);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+        List<Order> orders = orderCursor == null
+                ? orderRepository.findAllWithMemberDelivery(null, null, pageSize)
+                : orderRepository.findAllWithMemberDelivery(orderCursor.getOrderDate(), orderCursor.getOrderId(), pageSize);
+
+        List<OrderDto> result = orders.stream()
+                .map(order -> new OrderDto(order))
+                .collect(Collectors.toList());
+
+        String nextCursor = orders.size() < pageSize
+                ? null
+                : OrderCursor.of(orders.get(orders.size() - 1)).encode();
+
+        return new CursorResult<>(result.size(), result, nextCursor);
+    }
+
     /**
      * V4. JPA에서 DTO로 바로 조회, 컬렉션 N 조회 (1 + N Query)
      *  - 페이징 가능
@@ -103,6 +147,86 @@ public class OrderApiController {
         return result;
     }
 
+    /**
+     * V6. JPA에서 DTO로 바로 조회, 플랫 데이터 최적화 (1 Query)
+     *  - 조인 결과를 애플리케이션에서 주문 단위로 묶는다.
+     *  - 페이징 불가 (V6.1 사용)
+     */
+    @GetMapping("/api/v6/orders")
+    public List<OrderQueryDto> ordersV6() {
+        return orderRepository.findAllByDto_flat();
+    }
+
+    /**
+     * V6.1 플랫 데이터 최적화 페이징 (1 + 1 Query)
+     *  - 주문 id 를 먼저 페이징해서 조인으로 늘어난 행에 영향을 받지 않는다.
+     */
+    @GetMapping("/api/v6.1/orders")
+    public List<OrderQueryDto> ordersV6_page(@RequestParam("offset") int offset,
+                                             @RequestParam("limit") int limit) {
+        return orderRepository.findAllByDto_flat(offset, limit);
+    }
+
+    /**
+     * 주문 전체 내보내기 (NDJSON)
+     * - List 로 모으지 않고 커서로 읽은 주문을 한 줄씩 응답에 바로 쓴다.
+     * - 주문 수와 상관없이 힙 사용량이 일정
+     */
+    @GetMapping(value = "/api/orders/export", produces = "application/x-ndjson")
+    public void exportOrders(HttpServletResponse response) throws IOException {
+        response.setContentType("application/x-ndjson");
+        response.setCharacterEncoding("UTF-8");
+        orderExportService.exportOrders(response.getOutputStream());
+    }
+
+
+    /**
+     * 장바구니 주문
+     * - 여러 상품을 한 번의 요청, 한 트랜잭션으로 주문
+     * - 회원 / 상품 id 가 없거나 수량이 1 미만인 줄, 존재하지 않는 상품은 400
+     */
+    @PostMapping("/api/orders/checkout")
+    public CheckoutResponse checkout(@RequestBody @Valid CheckoutRequest request) {
+        Long orderId;
+        try {
+            orderId = orderService.checkout(request.getMemberId(), request.getLines());
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+        return new CheckoutResponse(orderId);
+    }
+
+    @Data
+    static class CheckoutRequest {
+        @NotNull(message = "회원 id 는 필수 입니다.")
+        private Long memberId;
+        @NotEmpty(message = "주문할 상품이 없습니다.")
+        private List<@Valid CartLine> lines;
+    }
+
+    @Data
+    @AllArgsConstructor
+    static class CheckoutResponse {
+        private Long orderId;
+    }
+
+
+    /**
+     * 주문 일괄 취소
+     * - 회원 / 주문 기간 조건에 맞는 주문을 한 번에 취소 (배송 완료 주문 제외)
+     */
+    @PostMapping("/api/orders/cancel")
+    public CancelResponse cancelOrders(@RequestBody OrderCancelCondition condition) {
+        int canceledCount = orderService.cancelAll(condition);
+        return new CancelResponse(canceledCount);
+    }
+
+    @Data
+    @AllArgsConstructor
+    static class CancelResponse {
+        private int canceledCount;
+    }
+
 
     /* DTO */
     @Data
@@ -112,6 +236,7 @@ public class OrderApiController {
         private LocalDateTime orderDate;
         private OrderStatus status;
         private Address address;
+        private int totalPrice;
         private List<OrderItemDto> orderItems;
 
         public OrderDto(Order order) {
@@ -120,6 +245,7 @@ public class OrderApiController {
             orderDate = order.getOrderDate();
             status = order.getStatus();
             address = order.getDelivery().getAddress();         // 지연 로딩 초기화
+            totalPrice = order.getTotalPrice();                 // 저장된 총액, 컬렉션 로딩 X
             orderItems = order.getOrderItems()
                     .stream()
                     .map(orderItem -> new OrderItemDto(orderItem))
@@ -0,0 +1,56 @@
+package jpabook.jpashop.api;
+
+import jpabook.jpashop.domain.Order;
+import lombok.Getter;
+import org.springframework.util.StringUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * 주문 키셋 페이징 커서
+ * - 마지막으로 조회한 주문의 (orderDate, orderId)를 클라이언트가 해석하지 못하도록 Base64로 감싼다.
+ */
+@Getter
+public class OrderCursor {
+
+    private static final String DELIMITER = "|";
+
+    private final LocalDateTime orderDate;
+    private final Long orderId;
+
+    public OrderCursor(LocalDateTime orderDate, Long orderId) {
+        this.orderDate = orderDate;
+        this.orderId = orderId;
+    }
+
+    public static OrderCursor of(Order order) {
+        return new OrderCursor(order.getOrderDate(), order.getId());
+    }
+
+    /* 커서 -> 문자열 */
+    public String encode() {
+        String raw = orderDate + DELIMITER + orderId;
+        return Base64.getUrlEncoder()
+                .withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /* 문자열 -> 커서, 첫 페이지는 null */
+    public static OrderCursor decode(String cursor) {
+        if (!StringUtils.hasText(cursor)) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int index = raw.lastIndexOf(DELIMITER);
+            return new OrderCursor(
+                    LocalDateTime.parse(raw.substring(0, index)),
+                    Long.valueOf(raw.substring(index + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new IllegalArgumentException("잘못된 커서 입니다.", e);
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package jpabook.jpashop.api;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import jpabook.jpashop.json.OrderJsonWriter;
+import jpabook.jpashop.repository.order.query.OrderQueryDto;
+import jpabook.jpashop.repository.order.simplequery.OrderSimpleQueryDto;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.lang.Nullable;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.Collection;
+import java.util.List;
+
+import static jpabook.jpashop.json.OrderJsonWriter.*;
+
+/**
+ * 주문 API 응답(주문 DTO 목록)은 Jackson 대신 OrderJsonWriter 로 쓴다.
+ * - 쓰기 전용, 다른 타입은 기존 Jackson 컨버터가 처리
+ * - 주문 DTO 컬렉션, CursorResult<주문 DTO> 를 쓴다. API 응답 DTO(OrderDto, SimpleOrderDto)는 여기서 직접 쓴다.
+ */
+public class OrderJsonHttpMessageConverter extends AbstractGenericHttpMessageConverter<Object> {
+
+    private static final SerializedString DATA = new SerializedString("data");
+    private static final SerializedString NEXT_CURSOR = new SerializedString("nextCursor");
+
+    private final OrderJsonWriter orderJsonWriter;
+
+    public OrderJsonHttpMessageConverter(OrderJsonWriter orderJsonWriter) {
+        super(MediaType.APPLICATION_JSON);
+        this.orderJsonWriter = orderJsonWriter;
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return false;   // 제네릭 타입으로만 판단
+    }
+
+    @Override
+    public boolean canRead(Type type, @Nullable Class<?> contextClass, @Nullable MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canWrite(@Nullable Type type, Class<?> clazz, @Nullable MediaType mediaType) {
+        return type != null && supportsType(type) && canWrite(mediaType);
+    }
+
+    @Override
+    protected void writeInternal(Object value, @Nullable Type type, HttpOutputMessage outputMessage) throws IOException {
+        try (JsonGenerator generator = orderJsonWriter.createGenerator(outputMessage.getBody())) {
+            if (value instanceof CursorResult<?> cursorResult) {
+                generator.writeStartObject();
+                generator.writeFieldName(COUNT);
+                generator.writeNumber(cursorResult.getCount());
+                generator.writeFieldName(DATA);
+                orderJsonWriter.writeArray(generator, cursorResult.getData(), this::writeOrder);
+                generator.writeFieldName(NEXT_CURSOR);
+                writeNullableString(generator, cursorResult.getNextCursor());
+                generator.writeEndObject();
+            } else {
+                orderJsonWriter.writeArray(generator, (Collection<?>) value, this::writeOrder);
+            }
+        }
+    }
+
+    @Override
+    public Object read(Type type, @Nullable Class<?> contextClass, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("읽기는 지원하지 않습니다.", inputMessage);
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("읽기는 지원하지 않습니다.", inputMessage);
+    }
+
+    private void writeOrder(JsonGenerator generator, Object value) throws IOException {
+        if (value instanceof OrderQueryDto orderQueryDto) {
+            orderJsonWriter.write(generator, orderQueryDto);
+        } else if (value instanceof OrderApiController.OrderDto orderDto) {
+            write(generator, orderDto);
+        } else if (value instanceof OrderSimpleQueryDto orderSimpleQueryDto) {
+            orderJsonWriter.write(generator, orderSimpleQueryDto);
+        } else if (value instanceof OrderSimpleApiController.SimpleOrderDto simpleOrderDto) {
+            write(generator, simpleOrderDto);
+        } else {
+            throw new IllegalArgumentException("주문 DTO 가 아닙니다. " + value.getClass());
+        }
+    }
+
+    private void write(JsonGenerator generator, OrderApiController.OrderDto dto) throws IOException {
+        generator.writeStartObject();
+        generator.writeFieldName(ORDER_ID);
+        writeNullableNumber(generator, dto.getOrderId());
+        generator.writeFieldName(NAME);
+        writeNullableString(generator, dto.getName());
+        generator.writeFieldName(ORDER_DATE);
+        writeDateTime(generator, dto.getOrderDate());
+        generator.writeFieldName(STATUS);
+        writeStatus(generator, dto.getStatus());
+        generator.writeFieldName(ADDRESS);
+        orderJsonWriter.writeAddress(generator, dto.getAddress());
+        generator.writeFieldName(TOTAL_PRICE);
+        generator.writeNumber(dto.getTotalPrice());
+        generator.writeFieldName(ORDER_ITEMS);
+        List<OrderApiController.OrderItemDto> orderItems = dto.getOrderItems();
+        if (orderItems == null) {
+            generator.writeNull();
+        } else {
+            generator.writeStartArray();
+            for (OrderApiController.OrderItemDto orderItem : orderItems) {
+                orderJsonWriter.writeOrderItem(generator, orderItem.getItemName(), orderItem.getOrderPrice(), orderItem.getCount());
+            }
+            generator.writeEndArray();
+        }
+        generator.writeEndObject();
+    }
+
+    private void write(JsonGenerator generator, OrderSimpleApiController.SimpleOrderDto dto) throws IOException {
+        generator.writeStartObject();
+        generator.writeFieldName(ID);
+        writeNullableNumber(generator, dto.getId());
+        generator.writeFieldName(NAME);
+        writeNullableString(generator, dto.getName());
+        generator.writeFieldName(ORDER_STATUS);
+        writeStatus(generator, dto.getOrderStatus());
+        generator.writeFieldName(ORDER_DATE);
+        writeDateTime(generator, dto.getOrderDate());
+        generator.writeFieldName(ADDRESS);
+        orderJsonWriter.writeAddress(generator, dto.getAddress());
+        generator.writeFieldName(TOTAL_PRICE);
+        generator.writeNumber(dto.getTotalPrice());
+        generator.writeEndObject();
+    }
+
+    /* 주문 DTO 컬렉션, CursorResult<주문 DTO> */
+    static boolean supportsType(Type type) {
+        ResolvableType resolvableType = ResolvableType.forType(type);
+        Class<?> rawClass = resolvableType.resolve();
+        if (rawClass == null) {
+            return false;
+        }
+        if (Collection.class.isAssignableFrom(rawClass) || CursorResult.class.isAssignableFrom(rawClass)) {
+            return isOrderDto(resolvableType.getGeneric(0).resolve());
+        }
+        return false;
+    }
+
+    private static boolean isOrderDto(Class<?> elementClass) {
+        return elementClass == OrderQueryDto.class
+                || elementClass == OrderApiController.OrderDto.class
+                || elementClass == OrderSimpleQueryDto.class
+                || elementClass == OrderSimpleApiController.SimpleOrderDto.class;
+    }
+}
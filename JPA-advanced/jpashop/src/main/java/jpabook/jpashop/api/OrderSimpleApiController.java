@@ -88,6 +88,7 @@ public class OrderSimpleApiController {
         private OrderStatus orderStatus;
         private LocalDateTime orderDate;
         private Address address;
+        private int totalPrice;
 
         public SimpleOrderDto(Order order) {
             this.id = order.getId();
@@ -95,6 +96,7 @@ public class OrderSimpleApiController {
             this.orderDate = order.getOrderDate();
             this.orderStatus = order.getStatus();
             this.address = order.getDelivery().getAddress();    // 지연 로딩 조회 발생
+            this.totalPrice = order.getTotalPrice();            // 저장된 총액, 주문 상품 조회 X
         }
     }
 
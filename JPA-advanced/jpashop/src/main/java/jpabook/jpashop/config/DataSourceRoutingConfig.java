@@ -0,0 +1,58 @@
+package jpabook.jpashop.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * 읽기 전용 트랜잭션을 레플리카로 보내기
+ * - jpashop.datasource.replica.url 을 설정했을 때만 사용 (없으면 spring.datasource 하나만 사용)
+ * - primary 는 spring.datasource, 레플리카는 jpashop.datasource.replica 설정
+ * - primary / replica 커넥션 풀과 레플리카 설정은 주입 대상에서 빼고 라우팅 데이터소스만 노출한다.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "jpashop.datasource.replica", name = "url")
+public class DataSourceRoutingConfig {
+
+    @Bean(autowireCandidate = false)
+    @ConfigurationProperties("jpashop.datasource.replica")
+    public DataSourceProperties replicaDataSourceProperties() {
+        return new DataSourceProperties();
+    }
+
+    @Bean(autowireCandidate = false)
+    public DataSource primaryDataSource(DataSourceProperties dataSourceProperties) {
+        return dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean(autowireCandidate = false)
+    public DataSource replicaDataSource() {
+        HikariDataSource dataSource = replicaDataSourceProperties().initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(@Value("${jpashop.datasource.replica.lag-query:}") String lagQuery,
+                                               @Value("${jpashop.datasource.replica.max-lag-seconds:5}") double maxLagSeconds) {
+        return new ReplicaLagMonitor(replicaDataSource(), lagQuery, maxLagSeconds);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(DataSourceProperties dataSourceProperties, ReplicaLagMonitor replicaLagMonitor) {
+        ReplicaRoutingDataSource routingDataSource = new ReplicaRoutingDataSource(
+                primaryDataSource(dataSourceProperties),
+                replicaDataSource(),
+                replicaLagMonitor);
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+}
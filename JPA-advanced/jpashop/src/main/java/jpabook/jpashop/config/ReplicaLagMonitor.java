@@ -0,0 +1,53 @@
+package jpabook.jpashop.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+/**
+ * 레플리카 지연 감시
+ * - lagQuery 로 레플리카 지연(초)을 주기적으로 확인하고 maxLagSeconds 를 넘거나 연결에 실패하면 읽기도 primary 로 보낸다.
+ * - lagQuery 가 없으면 연결 확인(select 1)만 한다.
+ *   ex) PostgreSQL: select extract(epoch from now() - pg_last_xact_replay_timestamp())
+ */
+@Slf4j
+public class ReplicaLagMonitor {
+
+    private final DataSource replica;
+    private final String lagQuery;
+    private final double maxLagSeconds;
+
+    private volatile boolean replicaUsable = true;
+
+    public ReplicaLagMonitor(DataSource replica, String lagQuery, double maxLagSeconds) {
+        this.replica = replica;
+        this.lagQuery = lagQuery == null || lagQuery.isBlank() ? "select 1" : lagQuery;
+        this.maxLagSeconds = lagQuery == null || lagQuery.isBlank() ? Double.MAX_VALUE : maxLagSeconds;
+    }
+
+    public boolean isReplicaUsable() {
+        return replicaUsable;
+    }
+
+    @Scheduled(fixedDelayString = "${jpashop.datasource.replica.lag-check-interval-millis:1000}")
+    public void check() {
+        boolean usable;
+        try (Connection connection = replica.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(lagQuery)) {
+            usable = rs.next() && rs.getDouble(1) <= maxLagSeconds;
+        } catch (Exception e) {
+            log.debug("레플리카 확인 실패", e);
+            usable = false;
+        }
+
+        if (usable != replicaUsable) {
+            log.warn(usable ? "레플리카 복구, 읽기 트랜잭션을 레플리카로 보냅니다." : "레플리카 지연 / 장애, 읽기 트랜잭션을 primary 로 보냅니다.");
+        }
+        replicaUsable = usable;
+    }
+}
@@ -0,0 +1,43 @@
+package jpabook.jpashop.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jpabook.jpashop.monitoring.CountingStatementInspector;
+import jpabook.jpashop.monitoring.RepositorySqlStatementAspect;
+import jpabook.jpashop.monitoring.SqlStatementCountFilter;
+import jpabook.jpashop.monitoring.SqlTimingSessionListener;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * SQL 실행 횟수 측정 (요청별 / 리포지토리 메서드별)
+ * - N+1 같은 쿼리 수 회귀를 응답 헤더, 메트릭, 테스트(쿼리 예산)로 잡는다.
+ * - 같은 StatementInspector 와 세션 이벤트 리스너로 SQL 로그(SqlLogger)도 남긴다.
+ */
+@Configuration
+public class SqlStatementCountConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer statementInspectorCustomizer() {
+        return properties -> {
+            properties.put(AvailableSettings.STATEMENT_INSPECTOR, new CountingStatementInspector());
+            properties.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER, SqlTimingSessionListener.class.getName());
+        };
+    }
+
+    @Bean
+    public FilterRegistrationBean<SqlStatementCountFilter> sqlStatementCountFilter(MeterRegistry meterRegistry) {
+        FilterRegistrationBean<SqlStatementCountFilter> registration =
+                new FilterRegistrationBean<>(new SqlStatementCountFilter(meterRegistry));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    @Bean
+    public RepositorySqlStatementAspect repositorySqlStatementAspect(MeterRegistry meterRegistry) {
+        return new RepositorySqlStatementAspect(meterRegistry);
+    }
+}
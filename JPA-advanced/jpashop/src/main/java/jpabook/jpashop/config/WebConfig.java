@@ -0,0 +1,23 @@
+package jpabook.jpashop.config;
+
+import jpabook.jpashop.api.OrderJsonHttpMessageConverter;
+import jpabook.jpashop.json.OrderJsonWriter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+@Configuration
+@RequiredArgsConstructor
+public class WebConfig implements WebMvcConfigurer {
+
+    private final OrderJsonWriter orderJsonWriter;
+
+    /* 주문 DTO 응답은 Jackson 컨버터보다 먼저 */
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(0, new OrderJsonHttpMessageConverter(orderJsonWriter));
+    }
+}
@@ -2,7 +2,7 @@ package jpabook.jpashop.controller;
 
 import jpabook.jpashop.dto.BookForm;
 import jpabook.jpashop.domain.Item.Book;
-import jpabook.jpashop.domain.Item.Item;
+import jpabook.jpashop.repository.item.query.ItemQueryDto;
 import jpabook.jpashop.service.ItemService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Controller;
@@ -11,6 +11,7 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 
 import java.util.List;
 
@@ -18,6 +19,8 @@ import java.util.List;
 @RequiredArgsConstructor
 public class ItemController {
 
+    private static final int MAX_PAGE_SIZE = 1000;
+
     private final ItemService itemService;
 
     @GetMapping("/items/new")
@@ -38,10 +41,18 @@ public class ItemController {
         return "redirect:/items";
     }
 
+    /* 상품 목록 - offset 은 0 이상, limit 은 1 ~ MAX_PAGE_SIZE 로 맞춘다. */
     @GetMapping("/items")
-    public String list(Model model) {
-        List<Item> items = itemService.findItems();
+    public String list(@RequestParam(value = "offset", defaultValue = "0") int offset,
+                       @RequestParam(value = "limit", defaultValue = "100") int limit,
+                       Model model) {
+        int pageOffset = Math.max(offset, 0);
+        int pageSize = Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+        List<ItemQueryDto> items = itemService.findItemsWithCategories(pageOffset, pageSize);
         model.addAttribute("items", items);
+        model.addAttribute("offset", pageOffset);
+        model.addAttribute("limit", pageSize);
+        model.addAttribute("hasNext", items.size() == pageSize);
         return "items/itemList";
     }
 
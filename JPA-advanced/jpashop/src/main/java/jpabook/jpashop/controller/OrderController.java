@@ -1,11 +1,9 @@
 package jpabook.jpashop.controller;
 
-import jpabook.jpashop.domain.Item.Item;
-import jpabook.jpashop.domain.Member;
 import jpabook.jpashop.domain.Order;
 import jpabook.jpashop.domain.OrderSearch;
-import jpabook.jpashop.service.ItemService;
-import jpabook.jpashop.service.MemberService;
+import jpabook.jpashop.service.CatalogSnapshot;
+import jpabook.jpashop.service.OrderFormCatalog;
 import jpabook.jpashop.service.OrderService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Controller;
@@ -18,17 +16,18 @@ import java.util.List;
 @RequiredArgsConstructor
 public class OrderController {
 
-    private final ItemService itemService;
-    private final MemberService memberService;
+    private final OrderFormCatalog orderFormCatalog;
     private final OrderService orderService;
 
+    /**
+     * 주문 폼 - 상품 목록은 메모리 스냅샷에서 읽는다. (DB 조회 X)
+     * - 회원은 목록을 내려주지 않고 /api/members/search 자동완성으로 고른다.
+     */
     @GetMapping("/order")
     public String createOrderForm(Model model) {
-        List<Item> items = itemService.findItems();
-        List<Member> members = memberService.findMembers();
+        CatalogSnapshot catalog = orderFormCatalog.current();
 
-        model.addAttribute("items", items);
-        model.addAttribute("members", members);
+        model.addAttribute("items", catalog.getItemList());
 
         return "order/orderForm";
     }
@@ -2,6 +2,7 @@ package jpabook.jpashop.domain;
 
 import jakarta.persistence.*;
 import jpabook.jpashop.domain.Item.Item;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 
@@ -9,33 +10,61 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_category_path", columnList = "path"),
+        @Index(name = "idx_category_parent", columnList = "parent_id")
+})
 @Getter @Setter
 public class Category {
 
     @Id
-    @GeneratedValue
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "category_seq_generator")
+    @SequenceGenerator(name = "category_seq_generator", sequenceName = "category_seq", allocationSize = 50)
     @Column(name = "category_id")
     private Long id;
 
     private String name;
 
+    /* 루트부터 자신까지의 id 경로 (ex. /1/5/12/) - 하위 트리는 path like '/1/5/%' 한 번으로 조회 */
+    @Column(length = 1000)
+    @Setter(AccessLevel.NONE)
+    private String path;
+
     @ManyToMany
     @JoinTable(name = "category_item",
             joinColumns = @JoinColumn(name = "category_id"),
-            inverseJoinColumns = @JoinColumn(name = "item_id"))
+            inverseJoinColumns = @JoinColumn(name = "item_id"),
+            indexes = @Index(name = "idx_category_item_item", columnList = "item_id"))
     private List<Item> items = new ArrayList<>();
 
+    /* 저장된 카테고리의 상위 변경은 하위 경로도 바꿔야 하므로 CategoryService.moveCategory 로만 한다. */
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "parent_id")
+    @Setter(AccessLevel.NONE)
     private Category parent;
 
     @OneToMany(mappedBy = "parent")
     private List<Category> child = new ArrayList<>();
 
-    /* 연관관계 메서드 */
+    /* 연관관계 메서드 - 저장 전 카테고리만 (저장된 카테고리 이동은 CategoryService.moveCategory) */
     public void setChildCategory(Category child) {
+        if (child.getId() != null) {
+            throw new IllegalStateException("저장된 카테고리는 moveCategory 로 이동해야 합니다. id=" + child.getId());
+        }
         this.child.add(child);
-        child.setParent(this);
+        child.parent = this;
+    }
+
+    /* 경로 계산 - id 가 없으면(저장 전) 저장할 때 계산한다. */
+    public void refreshPath() {
+        if (id == null) {
+            return;
+        }
+        if (parent == null) {
+            this.path = "/" + id + "/";
+        } else if (parent.getPath() != null) {
+            this.path = parent.getPath() + id + "/";
+        }
     }
 
 }
@@ -10,13 +10,17 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_item_dtype", columnList = "dtype")
+})
 @Inheritance(strategy = InheritanceType.SINGLE_TABLE)
 @DiscriminatorColumn
 @Getter @Setter
 public abstract class Item {
 
     @Id
-    @GeneratedValue
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "item_seq_generator")
+    @SequenceGenerator(name = "item_seq_generator", sequenceName = "item_seq", allocationSize = 50)
     @Column(name = "item_id")
     private Long id;
 
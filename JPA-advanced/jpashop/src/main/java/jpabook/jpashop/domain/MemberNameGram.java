@@ -0,0 +1,41 @@
+package jpabook.jpashop.domain;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * 회원 이름 3-gram 색인
+ * - 이름의 연속된 3글자(소문자)마다 한 행. 기본키 (gram, member_id) 로 gram 별 회원 id 를 인덱스 범위 조회한다.
+ * - '%철수%' 처럼 앞이 와일드카드인 이름 검색을 member 전체 스캔 대신 이 테이블로 먼저 좁힌다.
+ * - MemberNameGramRepository 가 회원 저장 / 이름 변경 시 갱신한다.
+ */
+@Entity
+@Table(name = "member_name_gram", indexes = {
+        @Index(name = "idx_member_name_gram_member", columnList = "member_id")
+})
+@IdClass(MemberNameGram.Key.class)
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class MemberNameGram {
+
+    public static final int GRAM_SIZE = 3;
+
+    @Id
+    @Column(length = GRAM_SIZE)
+    private String gram;
+
+    @Id
+    private Long memberId;
+
+    @NoArgsConstructor
+    @EqualsAndHashCode
+    public static class Key implements Serializable {
+        private String gram;
+        private Long memberId;
+    }
+}
@@ -11,12 +11,18 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "orders")
+@Table(name = "orders", indexes = {
+        @Index(name = "idx_orders_member", columnList = "member_id"),
+        @Index(name = "idx_orders_status_order_date", columnList = "status, order_date"),
+        @Index(name = "idx_orders_order_date_id", columnList = "order_date, order_id"),
+        @Index(name = "idx_orders_total_price", columnList = "total_price")
+})
 @Getter @Setter
 public class Order {
 
     @Id
-    @GeneratedValue
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_seq_generator")
+    @SequenceGenerator(name = "order_seq_generator", sequenceName = "orders_seq", allocationSize = 50)
     @Column(name = "order_id")
     private Long id;
 
@@ -25,6 +31,10 @@ public class Order {
     @Enumerated(EnumType.STRING)
     private OrderStatus status;    // 주문상태 - ORDER, CANCEL
 
+    private int totalPrice;        // 주문 총액 - 주문 상품 가격 * 수량의 합 (주문 생성 시 계산해서 저장)
+
+    private int orderItemCount;    // 주문 상품 줄 수
+
     @JsonIgnore
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "member_id")
@@ -49,6 +59,8 @@ public class Order {
     public void addOrderItems(OrderItem orderItem) {
         orderItems.add(orderItem);
         orderItem.setOrder(this);
+        totalPrice += orderItem.getTotalPrice();
+        orderItemCount++;
     }
 
     public void setDelivery(Delivery delivery) {
@@ -70,25 +82,15 @@ public class Order {
         return order;
     }
     
-    /* 주문 취소 */
+    /**
+     * 주문 취소 - 주문 상품은 그대로이므로 총액 / 줄 수는 변하지 않는다
+     * - 재고 복구는 OrderService 가 UPDATE 로 처리한다. (ItemRepository.addStock)
+     */
     public void cancel() {
         if ( delivery.getStatus() == DeliveryStatus.COMPLETION ) {
             throw new IllegalStateException("배송 완료 된 상품은 취소가 불가합니다.");
         }
-        for(OrderItem orderItem : orderItems) {
-            orderItem.cancel();
-        }
         this.status = OrderStatus.CANCEL;
     }
 
-
-    /* 전체 주문 가격 조회 */
-    public int getTotalPrice() {
-        int totalPrice = 0;
-        for (OrderItem orderItem : orderItems) {
-            totalPrice += orderItem.getTotalPrice();
-        }
-        return totalPrice;
-    }
-
 }
@@ -0,0 +1,19 @@
+package jpabook.jpashop.domain;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+@Getter @Setter
+public class OrderCancelCondition {
+
+    private Long memberId;                  //회원 id
+    private LocalDateTime orderDateFrom;    //주문 일시 (이상)
+    private LocalDateTime orderDateTo;      //주문 일시 (미만)
+
+    /* 조건이 하나도 없으면 전체 주문이 취소되므로 막는다 */
+    public boolean hasCondition() {
+        return memberId != null || orderDateFrom != null || orderDateTo != null;
+    }
+}
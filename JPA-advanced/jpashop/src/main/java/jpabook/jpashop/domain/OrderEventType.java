@@ -0,0 +1,7 @@
+package jpabook.jpashop.domain;
+
+public enum OrderEventType {
+
+    ORDERED, CANCELED
+
+}
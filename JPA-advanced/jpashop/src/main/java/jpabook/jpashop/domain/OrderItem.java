@@ -7,11 +7,16 @@ import lombok.Getter;
 import lombok.Setter;
 
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_order_item_order", columnList = "order_id"),
+        @Index(name = "idx_order_item_item", columnList = "item_id")
+})
 @Getter @Setter
 public class OrderItem {
 
     @Id
-    @GeneratedValue
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_item_seq_generator")
+    @SequenceGenerator(name = "order_item_seq_generator", sequenceName = "order_item_seq", allocationSize = 50)
     @Column(name = "order_item_id")
     private Long id;
 
@@ -37,12 +42,13 @@ public class OrderItem {
         return orderItem;
     }
 
-    /* 주문 상품 취소 */
-    public void cancel() {
-        // item 필드를 직접 사용하지 않고 get으로 가져오는 이유?
-        //  ->  조회한 엔티티가 프록시 객체인 경우 필드에 직접 접근하면 원본 객체를 가져오지 못하고 프록시 객체의 필드에 직접 접근 해버리게 된다.
-        //      이게 일반적인 상황에는 문제가 없는데, equals, hashcode를 JPA 프록시 객체로 구현할 때 문제가 될 수 있다.
-        getItem().addStock(count);
+    /* 주문 상품 생성 메서드 - 재고는 이미 DB에서 차감된 경우 (ItemRepository.removeStock) */
+    public static OrderItem createReservedOrderItem(Item item, int price, int count) {
+        OrderItem orderItem = new OrderItem();
+        orderItem.setItem(item);
+        orderItem.setCount(count);
+        orderItem.setOrderPrice(price);
+        return orderItem;
     }
 
     /* 주문 상품 가격 조회 */
@@ -0,0 +1,43 @@
+package jpabook.jpashop.domain;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 주문 이벤트 아웃박스
+ * - 주문 생성 / 취소와 같은 트랜잭션에서 저장하고, OrderEventPublisher 가 나중에 꺼내서 발행한다.
+ */
+@Entity
+@Table(name = "order_outbox", indexes = {
+        @Index(name = "idx_order_outbox_published_at", columnList = "published_at, order_outbox_id")
+})
+@Getter @Setter
+public class OrderOutbox {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_outbox_seq_generator")
+    @SequenceGenerator(name = "order_outbox_seq_generator", sequenceName = "order_outbox_seq", allocationSize = 50)
+    @Column(name = "order_outbox_id")
+    private Long id;
+
+    private Long orderId;
+
+    @Enumerated(EnumType.STRING)
+    private OrderEventType eventType;
+
+    private LocalDateTime createdAt;
+
+    private LocalDateTime publishedAt;  // 발행 전이면 null
+
+    /* 아웃박스 생성 메서드 */
+    public static OrderOutbox create(Long orderId, OrderEventType eventType) {
+        OrderOutbox outbox = new OrderOutbox();
+        outbox.setOrderId(orderId);
+        outbox.setEventType(eventType);
+        outbox.setCreatedAt(LocalDateTime.now());
+        return outbox;
+    }
+}
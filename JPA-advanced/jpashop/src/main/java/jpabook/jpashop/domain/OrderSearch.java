@@ -8,4 +8,5 @@ public class OrderSearch {
 
     private String memberName;          //회원 이름
     private OrderStatus orderStatus;    //주문 상태
+    private Integer minTotalPrice;      //최소 주문 총액
 }
@@ -0,0 +1,23 @@
+package jpabook.jpashop.dto;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter @Setter
+@NoArgsConstructor
+public class CartLine {
+
+    @NotNull(message = "상품 id 는 필수 입니다.")
+    private Long itemId;
+
+    @Positive(message = "주문 수량은 1개 이상이어야 합니다.")
+    private int count;
+
+    public CartLine(Long itemId, int count) {
+        this.itemId = itemId;
+        this.count = count;
+    }
+}
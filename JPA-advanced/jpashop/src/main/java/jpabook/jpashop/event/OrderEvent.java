@@ -0,0 +1,33 @@
+package jpabook.jpashop.event;
+
+import jpabook.jpashop.domain.OrderEventType;
+import jpabook.jpashop.domain.OrderOutbox;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+
+/**
+ * 리스너에 전달되는 주문 이벤트 (불변)
+ * - 같은 이벤트가 두 번 이상 전달될 수 있으므로 리스너는 eventId 로 중복을 걸러야 한다.
+ */
+@Getter
+@ToString
+public class OrderEvent {
+
+    private final Long eventId;
+    private final Long orderId;
+    private final OrderEventType eventType;
+    private final LocalDateTime occurredAt;
+
+    public OrderEvent(Long eventId, Long orderId, OrderEventType eventType, LocalDateTime occurredAt) {
+        this.eventId = eventId;
+        this.orderId = orderId;
+        this.eventType = eventType;
+        this.occurredAt = occurredAt;
+    }
+
+    public static OrderEvent from(OrderOutbox outbox) {
+        return new OrderEvent(outbox.getId(), outbox.getOrderId(), outbox.getEventType(), outbox.getCreatedAt());
+    }
+}
@@ -0,0 +1,12 @@
+package jpabook.jpashop.event;
+
+/**
+ * 주문 이벤트 구독
+ * - 스프링 빈으로 등록하면 OrderEventPublisher 가 리스너마다 전용 큐와 스레드로 전달한다.
+ * - 예외를 던지면 그 배치는 발행 완료로 표시되지 않고 다음 주기에 다시 전달된다.
+ */
+public interface OrderEventListener {
+
+    void onEvent(OrderEvent event);
+
+}
@@ -0,0 +1,215 @@
+package jpabook.jpashop.event;
+
+import jakarta.annotation.PreDestroy;
+import jpabook.jpashop.domain.OrderOutbox;
+import jpabook.jpashop.repository.OrderOutboxRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 주문 이벤트 발행
+ * - 주문 트랜잭션은 아웃박스에 한 행만 쓰고 끝나므로 구독자 수가 늘어도 주문 지연 시간은 그대로다.
+ * - 백그라운드에서 아웃박스를 batchSize 단위로 잠가서 가져오고(skip locked), 리스너별 큐에 배치를 넣는다.
+ * - 모든 리스너가 배치를 처리한 뒤에만 같은 트랜잭션에서 발행 완료로 표시한다. (at-least-once)
+ *   큐가 가득 차서 offerTimeout 안에 넣지 못하거나(backpressure), 리스너가 processTimeout 안에 끝내지 못하거나 실패하면
+ *   트랜잭션을 롤백하고 다음 주기에 다시 발행한다. 이미 처리한 리스너도 다시 받으므로 eventId 로 중복을 거른다.
+ * - 종료 시에는 큐에 남은 배치를 모두 처리한 뒤 리스너 스레드를 끝낸다. 처리하지 못한 배치는 발행 완료가 아니므로 재시작 후 다시 발행된다.
+ */
+@Slf4j
+@Component
+public class OrderEventPublisher {
+
+    private final OrderOutboxRepository orderOutboxRepository;
+    private final TransactionTemplate tx;
+    private final List<Subscriber> subscribers = new ArrayList<>();
+
+    private final int batchSize;
+    private final long offerTimeoutMillis;
+    private final long processTimeoutMillis;
+
+    private volatile boolean closed;
+
+    public OrderEventPublisher(OrderOutboxRepository orderOutboxRepository,
+                               PlatformTransactionManager transactionManager,
+                               ObjectProvider<OrderEventListener> listeners,
+                               @Value("${jpashop.outbox.batch-size:100}") int batchSize,
+                               @Value("${jpashop.outbox.queue-capacity:10}") int queueCapacity,
+                               @Value("${jpashop.outbox.offer-timeout-millis:5000}") long offerTimeoutMillis,
+                               @Value("${jpashop.outbox.process-timeout-millis:30000}") long processTimeoutMillis) {
+        this.orderOutboxRepository = orderOutboxRepository;
+        this.tx = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.offerTimeoutMillis = offerTimeoutMillis;
+        this.processTimeoutMillis = processTimeoutMillis;
+
+        listeners.orderedStream()
+                .forEach(listener -> subscribers.add(new Subscriber(listener, queueCapacity)));
+    }
+
+    /* 아웃박스 비우기 - 가득 찬 배치가 나오는 동안 계속 */
+    @Scheduled(fixedDelayString = "${jpashop.outbox.poll-interval-millis:1000}")
+    public void publish() {
+        try {
+            Integer published;
+            do {
+                if (closed) {
+                    return;
+                }
+                published = tx.execute(status -> publishBatch());
+            } while (published != null && published == batchSize);
+        } catch (RuntimeException e) {
+            log.warn("주문 이벤트 발행 실패, 다음 주기에 다시 시도합니다.", e);
+        }
+    }
+
+    private int publishBatch() {
+        List<OrderOutbox> batch = orderOutboxRepository.claimBatch(batchSize);
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        List<Long> ids = new ArrayList<>(batch.size());
+        List<OrderEvent> events = new ArrayList<>(batch.size());
+        for (OrderOutbox outbox : batch) {
+            ids.add(outbox.getId());
+            events.add(OrderEvent.from(outbox));
+        }
+
+        List<CompletableFuture<Void>> processed = new ArrayList<>(subscribers.size());
+        for (Subscriber subscriber : subscribers) {
+            processed.add(subscriber.offer(events, offerTimeoutMillis));
+        }
+        awaitProcessed(processed);
+
+        orderOutboxRepository.markPublished(ids, LocalDateTime.now());
+        return batch.size();
+    }
+
+    /* 모든 리스너가 처리할 때까지 대기 - 실패, 시간 초과면 예외 (트랜잭션 롤백) */
+    private void awaitProcessed(List<CompletableFuture<Void>> processed) {
+        try {
+            CompletableFuture.allOf(processed.toArray(new CompletableFuture[0]))
+                    .get(processTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("주문 이벤트 처리에 실패한 리스너가 있습니다.", e.getCause());
+        } catch (TimeoutException e) {
+            throw new IllegalStateException("주문 이벤트 처리 시간이 초과되었습니다. timeout=" + processTimeoutMillis + "ms", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("주문 이벤트 발행이 중단되었습니다.", e);
+        }
+    }
+
+    /* 새 배치는 받지 않고, 큐에 남은 배치는 처리한 뒤 종료 */
+    @PreDestroy
+    public void shutdown() {
+        closed = true;
+        subscribers.forEach(Subscriber::stop);
+    }
+
+    /**
+     * 리스너 하나 전용 큐 + 스레드
+     * - 큐에는 배치 단위로 들어가고, 배치의 이벤트를 모두 처리하면 future 를 완료한다.
+     */
+    private static class Subscriber implements Runnable {
+
+        private static final long STOP_TIMEOUT_MILLIS = 10_000;
+        private static final Delivery STOP = new Delivery(List.of());
+
+        private final OrderEventListener listener;
+        private final BlockingQueue<Delivery> queue;
+        private final Thread worker;
+
+        Subscriber(OrderEventListener listener, int capacity) {
+            this.listener = listener;
+            this.queue = new ArrayBlockingQueue<>(capacity);
+            this.worker = new Thread(this, "order-event-" + listener.getClass().getSimpleName());
+            this.worker.setDaemon(true);
+            this.worker.start();
+        }
+
+        CompletableFuture<Void> offer(List<OrderEvent> events, long timeoutMillis) {
+            Delivery delivery = new Delivery(events);
+            try {
+                if (!queue.offer(delivery, timeoutMillis, TimeUnit.MILLISECONDS)) {
+                    throw new IllegalStateException("리스너 큐가 가득 찼습니다. listener=" + listener.getClass().getName());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("주문 이벤트 발행이 중단되었습니다.", e);
+            }
+            return delivery.processed;
+        }
+
+        @Override
+        public void run() {
+            while (true) {
+                Delivery delivery;
+                try {
+                    delivery = queue.take();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                if (delivery == STOP) {
+                    return;
+                }
+                delivery.process(listener);
+            }
+        }
+
+        /* STOP 은 큐의 맨 뒤에 들어가므로 앞에 있던 배치는 모두 처리된다. */
+        void stop() {
+            try {
+                if (!queue.offer(STOP, STOP_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+                    worker.interrupt();
+                    return;
+                }
+                worker.join(STOP_TIMEOUT_MILLIS);
+                if (worker.isAlive()) {
+                    log.warn("주문 이벤트 리스너가 종료 시간 안에 끝나지 않았습니다. listener={}", listener.getClass().getName());
+                    worker.interrupt();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                worker.interrupt();
+            }
+        }
+    }
+
+    private static class Delivery {
+
+        private final List<OrderEvent> events;
+        private final CompletableFuture<Void> processed = new CompletableFuture<>();
+
+        Delivery(List<OrderEvent> events) {
+            this.events = events;
+        }
+
+        void process(OrderEventListener listener) {
+            try {
+                for (OrderEvent event : events) {
+                    listener.onEvent(event);
+                }
+                processed.complete(null);
+            } catch (RuntimeException e) {
+                log.error("주문 이벤트 처리 실패. listener={}", listener.getClass().getName(), e);
+                processed.completeExceptionally(e);
+            }
+        }
+    }
+}
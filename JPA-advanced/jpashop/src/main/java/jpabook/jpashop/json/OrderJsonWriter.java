@@ -0,0 +1,188 @@
+package jpabook.jpashop.json;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jpabook.jpashop.domain.Address;
+import jpabook.jpashop.domain.OrderStatus;
+import jpabook.jpashop.repository.order.query.OrderItemQueryDto;
+import jpabook.jpashop.repository.order.query.OrderQueryDto;
+import jpabook.jpashop.repository.order.simplequery.OrderSimpleQueryDto;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 주문 DTO 전용 JSON 출력
+ * - 리플렉션 / 프록시 검사 없이 필드를 순서대로 JsonGenerator 에 바로 쓴다. 필드 이름은 미리 UTF-8 로 만들어 둔다.
+ * - 출력 모양은 ObjectMapper 로 직렬화한 것과 같다. (필드 순서, @JsonIgnore, null, 날짜 형식)
+ * - 조회용 DTO(OrderQueryDto, OrderSimpleQueryDto)만 알고, API 응답 DTO 는 OrderJsonHttpMessageConverter 가 아래 메서드로 쓴다.
+ */
+@Component
+public class OrderJsonWriter {
+
+    public static final int FLUSH_INTERVAL = 500;
+
+    public static final SerializedString ID = new SerializedString("id");
+    public static final SerializedString ORDER_ID = new SerializedString("orderId");
+    public static final SerializedString NAME = new SerializedString("name");
+    public static final SerializedString ORDER_DATE = new SerializedString("orderDate");
+    public static final SerializedString STATUS = new SerializedString("status");
+    public static final SerializedString ORDER_STATUS = new SerializedString("orderStatus");
+    public static final SerializedString ADDRESS = new SerializedString("address");
+    public static final SerializedString TOTAL_PRICE = new SerializedString("totalPrice");
+    public static final SerializedString ORDER_ITEMS = new SerializedString("orderItems");
+    public static final SerializedString COUNT = new SerializedString("count");
+
+    private static final SerializedString CITY = new SerializedString("city");
+    private static final SerializedString STREET = new SerializedString("street");
+    private static final SerializedString ZIPCODE = new SerializedString("zipcode");
+    private static final SerializedString ITEM_NAME = new SerializedString("itemName");
+    private static final SerializedString ORDER_PRICE = new SerializedString("orderPrice");
+
+    /* Jackson JavaTimeModule 기본 형식과 같음 */
+    private static final DateTimeFormatter DATE_TIME = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
+
+    private final JsonFactory jsonFactory;
+
+    public OrderJsonWriter(ObjectMapper objectMapper) {
+        this.jsonFactory = objectMapper.getFactory();
+    }
+
+    @FunctionalInterface
+    public interface ValueWriter<T> {
+        void write(JsonGenerator generator, T value) throws IOException;
+    }
+
+    /* out 은 닫지 않는다. 루트 값 사이에 구분자(기본 공백)를 넣지 않는다. (NDJSON 은 호출하는 쪽에서 줄바꿈) */
+    public JsonGenerator createGenerator(OutputStream out) throws IOException {
+        JsonGenerator generator = jsonFactory.createGenerator(out, JsonEncoding.UTF8);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        generator.setRootValueSeparator(null);
+        return generator;
+    }
+
+    /* 배열 쓰기 - FLUSH_INTERVAL 건마다 flush 해서 응답을 조금씩 내보낸다. */
+    public <T> void writeArray(JsonGenerator generator, Collection<? extends T> values, ValueWriter<T> valueWriter) throws IOException {
+        if (values == null) {
+            generator.writeNull();
+            return;
+        }
+        generator.writeStartArray();
+        int written = 0;
+        for (T value : values) {
+            if (value == null) {
+                generator.writeNull();
+            } else {
+                valueWriter.write(generator, value);
+            }
+            if (++written % FLUSH_INTERVAL == 0) {
+                generator.flush();
+            }
+        }
+        generator.writeEndArray();
+    }
+
+    /* OrderQueryDto - 주문 API 응답, 주문 내보내기(NDJSON)에서 사용 */
+    public void write(JsonGenerator generator, OrderQueryDto dto) throws IOException {
+        generator.writeStartObject();
+        generator.writeFieldName(ORDER_ID);
+        writeNullableNumber(generator, dto.getOrderId());
+        generator.writeFieldName(NAME);
+        writeNullableString(generator, dto.getName());
+        generator.writeFieldName(ORDER_DATE);
+        writeDateTime(generator, dto.getOrderDate());
+        generator.writeFieldName(ORDER_STATUS);
+        writeStatus(generator, dto.getOrderStatus());
+        generator.writeFieldName(ADDRESS);
+        writeAddress(generator, dto.getAddress());
+        generator.writeFieldName(TOTAL_PRICE);
+        generator.writeNumber(dto.getTotalPrice());
+        generator.writeFieldName(ORDER_ITEMS);
+        List<OrderItemQueryDto> orderItems = dto.getOrderItems();
+        if (orderItems == null) {
+            generator.writeNull();
+        } else {
+            generator.writeStartArray();
+            for (OrderItemQueryDto orderItem : orderItems) {
+                writeOrderItem(generator, orderItem.getItemName(), orderItem.getOrderPrice(), orderItem.getCount());
+            }
+            generator.writeEndArray();
+        }
+        generator.writeEndObject();
+    }
+
+    public void write(JsonGenerator generator, OrderSimpleQueryDto dto) throws IOException {
+        generator.writeStartObject();
+        generator.writeFieldName(ORDER_ID);
+        writeNullableNumber(generator, dto.getOrderId());
+        generator.writeFieldName(NAME);
+        writeNullableString(generator, dto.getName());
+        generator.writeFieldName(ORDER_DATE);
+        writeDateTime(generator, dto.getOrderDate());
+        generator.writeFieldName(ORDER_STATUS);
+        writeStatus(generator, dto.getOrderStatus());
+        generator.writeFieldName(ADDRESS);
+        writeAddress(generator, dto.getAddress());
+        generator.writeFieldName(TOTAL_PRICE);
+        generator.writeNumber(dto.getTotalPrice());
+        generator.writeEndObject();
+    }
+
+    public void writeOrderItem(JsonGenerator generator, String itemName, int orderPrice, int count) throws IOException {
+        generator.writeStartObject();
+        generator.writeFieldName(ITEM_NAME);
+        writeNullableString(generator, itemName);
+        generator.writeFieldName(ORDER_PRICE);
+        generator.writeNumber(orderPrice);
+        generator.writeFieldName(COUNT);
+        generator.writeNumber(count);
+        generator.writeEndObject();
+    }
+
+    public void writeAddress(JsonGenerator generator, Address address) throws IOException {
+        if (address == null) {
+            generator.writeNull();
+            return;
+        }
+        generator.writeStartObject();
+        generator.writeFieldName(CITY);
+        writeNullableString(generator, address.getCity());
+        generator.writeFieldName(STREET);
+        writeNullableString(generator, address.getStreet());
+        generator.writeFieldName(ZIPCODE);
+        writeNullableString(generator, address.getZipcode());
+        generator.writeEndObject();
+    }
+
+    public static void writeStatus(JsonGenerator generator, OrderStatus status) throws IOException {
+        writeNullableString(generator, status == null ? null : status.name());
+    }
+
+    public static void writeDateTime(JsonGenerator generator, LocalDateTime dateTime) throws IOException {
+        writeNullableString(generator, dateTime == null ? null : DATE_TIME.format(dateTime));
+    }
+
+    public static void writeNullableString(JsonGenerator generator, String value) throws IOException {
+        if (value == null) {
+            generator.writeNull();
+        } else {
+            generator.writeString(value);
+        }
+    }
+
+    public static void writeNullableNumber(JsonGenerator generator, Long value) throws IOException {
+        if (value == null) {
+            generator.writeNull();
+        } else {
+            generator.writeNumber(value);
+        }
+    }
+}
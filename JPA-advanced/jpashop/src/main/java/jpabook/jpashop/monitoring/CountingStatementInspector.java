@@ -0,0 +1,18 @@
+package jpabook.jpashop.monitoring;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * 하이버네이트가 준비하는 모든 SQL 을 센다. (JPQL, 네이티브, 지연 로딩, 배치)
+ * - SQL 로그가 켜져 있으면 실행 시간 측정(SqlTimingSessionListener)에 SQL 을 넘긴다.
+ * - SQL 은 바꾸지 않는다.
+ */
+public class CountingStatementInspector implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        SqlStatementCounter.increment();
+        SqlLogger.prepared(sql);
+        return sql;
+    }
+}
@@ -0,0 +1,34 @@
+package jpabook.jpashop.monitoring;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+
+/**
+ * 리포지토리 메서드별 SQL 실행 횟수
+ * - 메트릭 repository.sql.statements{method} (안에서 호출한 다른 리포지토리 쿼리 포함)
+ */
+@Aspect
+@RequiredArgsConstructor
+public class RepositorySqlStatementAspect {
+
+    private final MeterRegistry meterRegistry;
+
+    @Around("within(jpabook.jpashop.repository..*) && @within(org.springframework.stereotype.Repository)")
+    public Object count(ProceedingJoinPoint joinPoint) throws Throwable {
+        long start = SqlStatementCounter.count();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            DistributionSummary.builder("repository.sql.statements")
+                    .description("리포지토리 메서드 한 번에서 실행한 SQL 수")
+                    .tag("method", joinPoint.getSignature().getDeclaringType().getSimpleName()
+                            + "." + joinPoint.getSignature().getName())
+                    .register(meterRegistry)
+                    .record(SqlStatementCounter.count() - start);
+        }
+    }
+}
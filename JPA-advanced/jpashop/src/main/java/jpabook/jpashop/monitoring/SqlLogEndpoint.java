@@ -0,0 +1,41 @@
+package jpabook.jpashop.monitoring;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * SQL 로그 설정 조회 / 변경
+ * - GET  /actuator/sqllog
+ * - POST /actuator/sqllog {"enabled": true, "sampleRate": 100, "slowThresholdMillis": 50, "redact": true}
+ */
+@Component
+@Endpoint(id = "sqllog")
+@RequiredArgsConstructor
+public class SqlLogEndpoint {
+
+    private final SqlLogger sqlLogger;
+
+    @ReadOperation
+    public Map<String, Object> settings() {
+        Map<String, Object> settings = new LinkedHashMap<>();
+        settings.put("enabled", sqlLogger.isEnabled());
+        settings.put("sampleRate", sqlLogger.getSampleRate());
+        settings.put("slowThresholdMillis", sqlLogger.getSlowThresholdMillis());
+        settings.put("redact", sqlLogger.isRedact());
+        return settings;
+    }
+
+    @WriteOperation
+    public Map<String, Object> update(@Nullable Boolean enabled, @Nullable Integer sampleRate,
+                                      @Nullable Long slowThresholdMillis, @Nullable Boolean redact) {
+        sqlLogger.update(enabled, sampleRate, slowThresholdMillis, redact);
+        return settings();
+    }
+}
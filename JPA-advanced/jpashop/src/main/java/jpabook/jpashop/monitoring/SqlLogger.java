@@ -0,0 +1,109 @@
+package jpabook.jpashop.monitoring;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.Getter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * SQL 로그 (샘플링 / 느린 쿼리)
+ * - 모든 SQL 과 바인딩 파라미터를 동기로 남기던 p6spy, org.hibernate.orm.jdbc.bind=trace 를 대신한다.
+ * - 실행 시간이 slowThresholdMillis 이상이거나, sampleRate 건 중 1건(무작위)만 남긴다. (0 이면 해당 조건 끔)
+ * - 로그는 jpashop.sql 로거 -> AsyncAppender (logback-spring.xml) 라서 요청 스레드는 I/O 를 기다리지 않는다.
+ * - redact 면 SQL 안의 문자열 / 숫자 리터럴을 ? 로 가린다. 바인딩 파라미터 값은 남기지 않는다.
+ * - 설정은 실행 중에 /actuator/sqllog 로 바꿀 수 있다.
+ */
+@Component
+@Getter
+public class SqlLogger {
+
+    private static final Logger log = LoggerFactory.getLogger("jpashop.sql");
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("(?<![\\w.])\\d+(?:\\.\\d+)?(?![\\w.])");
+
+    /* 검사한 SQL 을 바로 뒤의 prepare 이벤트로 넘겨주는 용도 (CountingStatementInspector -> SqlTimingSessionListener), 꺼내면서 지운다. */
+    private static final ThreadLocal<String> INSPECTED_SQL = new ThreadLocal<>();
+
+    /* 하이버네이트가 직접 만드는 리스너에서 찾을 수 있도록 */
+    private static volatile SqlLogger active;
+
+    private volatile boolean enabled;
+    private volatile int sampleRate;
+    private volatile long slowThresholdMillis;
+    private volatile boolean redact;
+
+    public SqlLogger(@Value("${jpashop.sql-log.enabled:true}") boolean enabled,
+                     @Value("${jpashop.sql-log.sample-rate:0}") int sampleRate,
+                     @Value("${jpashop.sql-log.slow-threshold-millis:100}") long slowThresholdMillis,
+                     @Value("${jpashop.sql-log.redact:true}") boolean redact) {
+        update(enabled, sampleRate, slowThresholdMillis, redact);
+    }
+
+    @PostConstruct
+    public void register() {
+        active = this;
+    }
+
+    @PreDestroy
+    public void unregister() {
+        if (active == this) {
+            active = null;
+        }
+    }
+
+    /* 설정 변경 - null 은 그대로 */
+    public void update(Boolean enabled, Integer sampleRate, Long slowThresholdMillis, Boolean redact) {
+        if (sampleRate != null && sampleRate < 0 || slowThresholdMillis != null && slowThresholdMillis < 0) {
+            throw new IllegalArgumentException("sampleRate, slowThresholdMillis 는 0 이상이어야 합니다.");
+        }
+        if (sampleRate != null) this.sampleRate = sampleRate;
+        if (slowThresholdMillis != null) this.slowThresholdMillis = slowThresholdMillis;
+        if (redact != null) this.redact = redact;
+        if (enabled != null) this.enabled = enabled;
+    }
+
+    static void prepared(String sql) {
+        SqlLogger logger = active;
+        if (logger != null && logger.enabled) {
+            INSPECTED_SQL.set(sql);
+        }
+    }
+
+    static String takePrepared() {
+        String sql = INSPECTED_SQL.get();
+        if (sql != null) {
+            INSPECTED_SQL.remove();
+        }
+        return sql;
+    }
+
+    static void executed(String sql, long elapsedNanos, boolean batch) {
+        SqlLogger logger = active;
+        if (sql != null && logger != null && logger.enabled) {
+            logger.log(sql, elapsedNanos, batch);
+        }
+    }
+
+    private void log(String sql, long elapsedNanos, boolean batch) {
+        long millis = TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+        boolean slow = slowThresholdMillis > 0 && millis >= slowThresholdMillis;
+        boolean sampled = !slow && sampleRate > 0 && ThreadLocalRandom.current().nextInt(sampleRate) == 0;
+        if (!slow && !sampled) {
+            return;
+        }
+        log.info("[{}{}] {}ms {}", slow ? "SLOW" : "SAMPLE", batch ? " BATCH" : "", millis, redact ? redact(sql) : sql);
+    }
+
+    static String redact(String sql) {
+        String redacted = STRING_LITERAL.matcher(sql).replaceAll("?");
+        return NUMBER_LITERAL.matcher(redacted).replaceAll("?");
+    }
+}
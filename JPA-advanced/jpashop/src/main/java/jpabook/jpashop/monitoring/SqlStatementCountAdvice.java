@@ -0,0 +1,36 @@
+package jpabook.jpashop.monitoring;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * API 응답은 바디를 쓰면서 커밋되므로 필터가 헤더를 붙일 수 없다.
+ * 바디를 쓰기 직전에 지금까지 센 SQL 수를 헤더로 붙인다.
+ */
+@RestControllerAdvice
+public class SqlStatementCountAdvice implements ResponseBodyAdvice<Object> {
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (request instanceof ServletServerHttpRequest servletRequest) {
+            long statements = SqlStatementCountFilter.statementsSoFar(servletRequest.getServletRequest());
+            if (statements >= 0) {
+                response.getHeaders().set(SqlStatementCountFilter.HEADER, String.valueOf(statements));
+            }
+        }
+        return body;
+    }
+}
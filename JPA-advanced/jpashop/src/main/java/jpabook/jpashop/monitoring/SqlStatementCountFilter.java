@@ -0,0 +1,56 @@
+package jpabook.jpashop.monitoring;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * 요청별 SQL 실행 횟수
+ * - 응답 헤더 X-SQL-Statement-Count (응답 바디를 쓰기 전까지 센 값, SqlStatementCountAdvice)
+ * - 메트릭 http.server.sql.statements{method, uri} (요청이 끝날 때까지 센 값)
+ */
+@RequiredArgsConstructor
+public class SqlStatementCountFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "X-SQL-Statement-Count";
+    static final String START_ATTRIBUTE = SqlStatementCountFilter.class.getName() + ".start";
+
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        long start = SqlStatementCounter.count();
+        request.setAttribute(START_ATTRIBUTE, start);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            long statements = SqlStatementCounter.count() - start;
+            if (!response.isCommitted()) {
+                response.setHeader(HEADER, String.valueOf(statements));
+            }
+
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            DistributionSummary.builder("http.server.sql.statements")
+                    .description("요청 하나에서 실행한 SQL 수")
+                    .tag("method", request.getMethod())
+                    .tag("uri", pattern == null ? "UNKNOWN" : pattern.toString())
+                    .register(meterRegistry)
+                    .record(statements);
+        }
+    }
+
+    /* 현재 요청에서 지금까지 실행한 SQL 수 (요청 밖이면 -1) */
+    static long statementsSoFar(HttpServletRequest request) {
+        Object start = request.getAttribute(START_ATTRIBUTE);
+        return start == null ? -1 : SqlStatementCounter.count() - (Long) start;
+    }
+}
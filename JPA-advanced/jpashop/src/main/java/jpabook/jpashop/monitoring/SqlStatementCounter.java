@@ -0,0 +1,36 @@
+package jpabook.jpashop.monitoring;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 스레드별 SQL 실행 횟수
+ * - 값은 계속 증가만 하므로 구간의 실행 횟수는 끝 값 - 시작 값으로 구한다. (요청, 리포지토리 메서드)
+ * - 다른 스레드에서 대신 실행하는 쿼리는 bind 로 호출한 스레드의 카운터를 넘겨서 함께 센다.
+ */
+public final class SqlStatementCounter {
+
+    private static final ThreadLocal<AtomicLong> COUNTER = ThreadLocal.withInitial(AtomicLong::new);
+
+    private SqlStatementCounter() {
+    }
+
+    static void increment() {
+        COUNTER.get().incrementAndGet();
+    }
+
+    public static long count() {
+        return COUNTER.get().get();
+    }
+
+    /* 현재 스레드의 카운터 */
+    public static AtomicLong current() {
+        return COUNTER.get();
+    }
+
+    /* 다른 스레드의 카운터로 세기 - 이전 카운터를 돌려주므로 끝나면 다시 bind 한다. */
+    public static AtomicLong bind(AtomicLong counter) {
+        AtomicLong previous = COUNTER.get();
+        COUNTER.set(counter);
+        return previous;
+    }
+}
@@ -0,0 +1,55 @@
+package jpabook.jpashop.monitoring;
+
+import org.hibernate.SessionEventListener;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * JDBC 실행 시간 측정 (hibernate.session.events.auto)
+ * - 하이버네이트가 세션마다 새로 만들기 때문에 시작 시각을 필드로 들고 있어도 된다.
+ * - 실행 이벤트에는 SQL 이 없으므로 prepare 때 statement 마다 SQL 을 쌓아 두고 실행할 때 꺼낸다.
+ *   배치 statement 는 준비한 순서대로 실행되고, 일반 statement 는 준비 직후에 실행된다.
+ *   (일반 statement 를 준비하기 전에 대기 중인 배치를 먼저 실행하므로, 그때 남아 있는 SQL 은 실행되지 않은 것)
+ */
+public class SqlTimingSessionListener implements SessionEventListener {
+
+    private final Deque<String> preparedSql = new ArrayDeque<>();
+
+    private long statementStart;
+    private long batchStart;
+
+    @Override
+    public void jdbcPrepareStatementEnd() {
+        String sql = SqlLogger.takePrepared();
+        if (sql != null) {
+            preparedSql.addLast(sql);
+        }
+    }
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        statementStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        SqlLogger.executed(preparedSql.pollLast(), System.nanoTime() - statementStart, false);
+        preparedSql.clear();
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        batchStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        SqlLogger.executed(preparedSql.pollFirst(), System.nanoTime() - batchStart, true);
+    }
+
+    @Override
+    public void end() {
+        preparedSql.clear();
+    }
+}
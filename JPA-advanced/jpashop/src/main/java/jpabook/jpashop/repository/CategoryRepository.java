@@ -0,0 +1,85 @@
+package jpabook.jpashop.repository;
+
+import jakarta.persistence.EntityManager;
+import jpabook.jpashop.domain.Category;
+import jpabook.jpashop.domain.Item.Item;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+@RequiredArgsConstructor
+public class CategoryRepository {
+
+    private final EntityManager em;
+
+    /**
+     * 카테고리 저장
+     * - 경로에 자신의 id 가 들어가므로 persist 로 id 를 받은 뒤에 경로를 계산한다.
+     * - 상위 카테고리를 먼저 저장해야 한다.
+     */
+    public void save(Category category) {
+        if (category.getParent() != null && category.getParent().getPath() == null) {
+            throw new IllegalStateException("상위 카테고리를 먼저 저장해야 합니다.");
+        }
+        em.persist(category);
+        category.refreshPath();
+    }
+
+    /* 카테고리 단일 조회 */
+    public Category findOne(Long id) {
+        return em.find(Category.class, id);
+    }
+
+    /**
+     * 하위 트리 조회 (자신 포함)
+     * - path 접두어 LIKE 한 번으로 모든 깊이를 조회 (idx_category_path 범위 스캔)
+     * - path 순으로 정렬되므로 상위 카테고리가 항상 하위보다 먼저 나온다.
+     */
+    public List<Category> findSubtree(String path) {
+        return em.createQuery("select c from Category c" +
+                        " where c.path like :prefix" +
+                        " order by c.path", Category.class)
+                .setParameter("prefix", path + "%")
+                .getResultList();
+    }
+
+    /**
+     * 하위 트리 전체의 상품 조회
+     * - category_item 조인 테이블을 한 번 조인, 여러 카테고리에 속한 상품은 한 번만
+     */
+    public List<Item> findItemsUnder(String path) {
+        return em.createQuery("select distinct i from Category c" +
+                        " join c.items i" +
+                        " where c.path like :prefix", Item.class)
+                .setParameter("prefix", path + "%")
+                .getResultList();
+    }
+
+    /**
+     * 카테고리 이동
+     * - 상위 변경과 자신 / 모든 하위 카테고리의 경로 변경을 UPDATE 두 번으로 처리한다.
+     * - newParent 가 null 이면 루트로 이동
+     * - 벌크 연산이므로 실행 후 영속성 컨텍스트를 비운다. (이전에 조회한 카테고리는 다시 조회)
+     */
+    public int move(Category category, Category newParent) {
+        String oldPrefix = category.getPath();
+        String newPrefix = (newParent == null ? "/" : newParent.getPath()) + category.getId() + "/";
+
+        em.flush();
+        em.createQuery("update Category c set c.parent = :parent where c.id = :id")
+                .setParameter("parent", newParent)
+                .setParameter("id", category.getId())
+                .executeUpdate();
+        int updated = em.createQuery("update Category c" +
+                        " set c.path = concat(:newPrefix, substring(c.path, :oldLength + 1))" +
+                        " where c.path like :oldPattern")
+                .setParameter("newPrefix", newPrefix)
+                .setParameter("oldLength", oldPrefix.length())
+                .setParameter("oldPattern", oldPrefix + "%")
+                .executeUpdate();
+        em.clear();
+        return updated;
+    }
+}
@@ -0,0 +1,112 @@
+package jpabook.jpashop.repository;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jpabook.jpashop.monitoring.SqlStatementCounter;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiFunction;
+
+/**
+ * IN 절 분할 조회
+ * - id 목록을 최대 MAX_CHUNK_SIZE 개씩 나눠서 드라이버 파라미터 개수 제한을 넘지 않게 한다.
+ * - 묶음 크기를 2의 거듭제곱으로 맞추는 것은 하이버네이트 설정(hibernate.query.in_clause_parameter_padding)이 한다.
+ *   목록 크기가 제각각이어도 SQL 모양은 1, 2, 4 ... 512 개짜리 10가지뿐이라 statement / plan 캐시가 재사용된다.
+ */
+@Component
+public class InQueryLoader {
+
+    public static final int MAX_CHUNK_SIZE = 512;
+    private static final int PARALLELISM = 4;
+
+    private final EntityManager em;
+    private final EntityManagerFactory emf;
+    private final ExecutorService executor;
+
+    public InQueryLoader(EntityManager em, EntityManagerFactory emf) {
+        this.em = em;
+        this.emf = emf;
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(PARALLELISM, runnable -> {
+            Thread thread = new Thread(runnable, "in-query-loader-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * 순차 조회
+     * - 현재 트랜잭션과 영속성 컨텍스트에서 묶음별로 query 를 실행한다.
+     */
+    public <T, R> List<R> load(Collection<T> ids, BiFunction<EntityManager, List<T>, List<R>> query) {
+        List<R> result = new ArrayList<>();
+        for (List<T> chunk : partition(ids)) {
+            result.addAll(query.apply(em, chunk));
+        }
+        return result;
+    }
+
+    /**
+     * 병렬 조회 (명시적으로 선택한 호출자만 사용)
+     * - 묶음마다 별도 EntityManager / 커넥션으로 조회하므로 현재 트랜잭션 밖에서 실행된다.
+     *   flush 되지 않은 변경은 보이지 않고, 격리 수준 / 읽기 전용 레플리카 라우팅 / 영속성 컨텍스트도 따르지 않는다.
+     * - 트랜잭션 일관성이 필요 없는, 커밋된 데이터를 읽는 DTO 조회에만 사용 (엔티티 조회 X)
+     * - 묶음이 하나면 순차 조회와 같다.
+     * - 작업 스레드에서 실행한 SQL 도 호출한 스레드의 실행 횟수로 센다.
+     */
+    public <T, R> List<R> loadParallel(Collection<T> ids, BiFunction<EntityManager, List<T>, List<R>> query) {
+        List<List<T>> chunks = partition(ids);
+        if (chunks.size() <= 1) {
+            return load(ids, query);
+        }
+
+        AtomicLong statementCounter = SqlStatementCounter.current();
+        List<CompletableFuture<List<R>>> futures = new ArrayList<>(chunks.size());
+        for (List<T> chunk : chunks) {
+            futures.add(CompletableFuture.supplyAsync(() -> {
+                AtomicLong previousCounter = SqlStatementCounter.bind(statementCounter);
+                EntityManager chunkEm = emf.createEntityManager();
+                try {
+                    return query.apply(chunkEm, chunk);
+                } finally {
+                    chunkEm.close();
+                    SqlStatementCounter.bind(previousCounter);
+                }
+            }, executor));
+        }
+
+        List<R> result = new ArrayList<>();
+        for (CompletableFuture<List<R>> future : futures) {
+            result.addAll(future.join());
+        }
+        return result;
+    }
+
+    /* 중복 제거 후 MAX_CHUNK_SIZE 단위로 나누기 */
+    static <T> List<List<T>> partition(Collection<T> ids) {
+        List<T> distinct = new ArrayList<>(new LinkedHashSet<>(ids));
+        List<List<T>> chunks = new ArrayList<>((distinct.size() + MAX_CHUNK_SIZE - 1) / MAX_CHUNK_SIZE);
+
+        for (int from = 0; from < distinct.size(); from += MAX_CHUNK_SIZE) {
+            int to = Math.min(from + MAX_CHUNK_SIZE, distinct.size());
+            chunks.add(new ArrayList<>(distinct.subList(from, to)));
+        }
+        return chunks;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -2,17 +2,27 @@ package jpabook.jpashop.repository;
 
 import jakarta.persistence.EntityManager;
 import jpabook.jpashop.domain.Item.Item;
+import jpabook.jpashop.exception.NotEnoughStockException;
 import lombok.NoArgsConstructor;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 
 @Repository
 @RequiredArgsConstructor
 public class ItemRepository {
 
+    private static final String REMOVE_STOCK_SQL = "update item" +
+            " set stock_quantity = stock_quantity - ?" +
+            " where item_id = ?" +
+            " and stock_quantity >= ?";
+
     private final EntityManager em;
+    private final InQueryLoader inQueryLoader;
 
     /* 상품 저장 */
     public void save(Item item) {
@@ -32,4 +42,83 @@ public class ItemRepository {
         return em.find(Item.class, id);
     }
 
+    /* 상품 여러 건 조회 - IN 쿼리 */
+    public List<Item> findAllByIds(Collection<Long> ids) {
+        return inQueryLoader.load(ids, (entityManager, chunk) ->
+                entityManager.createQuery("select i from Item i where i.id in :ids", Item.class)
+                        .setParameter("ids", chunk)
+                        .getResultList());
+    }
+
+    /**
+     * 재고 수량 감소
+     * - 재고 확인과 차감을 조건부 UPDATE 한 번으로 처리해서 동시 주문에도 재고를 잃어버리거나 초과 판매하지 않는다.
+     * - 벌크 연산은 영속성 컨텍스트를 거치지 않으므로 실행 전에 flush, 실행 후에 refresh 한다.
+     */
+    public void removeStock(Item item, int quantity) {
+        em.flush();
+
+        int updated = em.createQuery(
+                        "update Item i" +
+                                " set i.stockQuantity = i.stockQuantity - :quantity" +
+                                " where i.id = :itemId" +
+                                " and i.stockQuantity >= :quantity")
+                .setParameter("quantity", quantity)
+                .setParameter("itemId", item.getId())
+                .executeUpdate();
+
+        if (updated == 0) {
+            throw new NotEnoughStockException("재고가 부족 합니다.");
+        }
+
+        em.refresh(item);
+    }
+
+    /**
+     * 재고 수량 증가 (주문 취소 / 상품 수정)
+     * - 읽은 값에 더해서 쓰지 않고 UPDATE 한 번으로 더하므로 동시에 커밋된 주문의 차감을 덮어쓰지 않는다.
+     * - removeStock 과 같이 실행 전에 flush, 실행 후에 refresh 한다.
+     */
+    public void addStock(Item item, int quantity) {
+        em.flush();
+
+        em.createQuery(
+                        "update Item i" +
+                                " set i.stockQuantity = i.stockQuantity + :quantity" +
+                                " where i.id = :itemId")
+                .setParameter("quantity", quantity)
+                .setParameter("itemId", item.getId())
+                .executeUpdate();
+
+        em.refresh(item);
+    }
+
+    /**
+     * 재고 수량 일괄 감소
+     * - 상품마다 조건부 UPDATE 를 JDBC 배치 한 번으로 보낸다. (JdbcBatch - SQL 실행 횟수 / 로그에 포함)
+     * - 데드락을 피하기 위해 항상 상품 id 순서로 잠근다.
+     * - 한 상품이라도 재고가 부족하면 NotEnoughStockException (트랜잭션 롤백)
+     * - 재고 값이 달라진 엔티티는 영속성 컨텍스트에서 분리해서, 이후 조회는 DB 값을 다시 읽도록 한다.
+     */
+    public void removeStocks(List<Item> items, Map<Long, Integer> quantities) {
+        em.flush();
+
+        Map<Long, Integer> sorted = new TreeMap<>(quantities);
+        int[] updatedCounts = JdbcBatch.execute(em, REMOVE_STOCK_SQL, sorted.entrySet(), (ps, entry) -> {
+            ps.setInt(1, entry.getValue());
+            ps.setLong(2, entry.getKey());
+            ps.setInt(3, entry.getValue());
+        });
+
+        for (int updated : updatedCounts) {
+            if (updated == 0) {
+                throw new NotEnoughStockException("재고가 부족 합니다.");
+            }
+        }
+
+        for (Item item : items) {
+            em.detach(item);
+        }
+    }
+
 }
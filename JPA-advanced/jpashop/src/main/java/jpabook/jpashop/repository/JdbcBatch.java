@@ -0,0 +1,54 @@
+package jpabook.jpashop.repository;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.engine.jdbc.spi.JdbcCoordinator;
+import org.hibernate.engine.spi.SessionImplementor;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Collection;
+
+/**
+ * 현재 세션의 커넥션으로 JDBC 배치 실행
+ * - doWork 로 직접 prepareStatement 하면 StatementInspector / 세션 이벤트를 거치지 않아 SQL 실행 횟수, SQL 로그에서 빠진다.
+ * - 하이버네이트의 StatementPreparer 로 준비하고 배치 실행 이벤트를 알려서, 하이버네이트가 만든 SQL 과 똑같이 세고 기록한다.
+ */
+final class JdbcBatch {
+
+    private JdbcBatch() {
+    }
+
+    @FunctionalInterface
+    interface Binder<T> {
+        void bind(PreparedStatement ps, T row) throws SQLException;
+    }
+
+    /* rows 마다 bind 후 addBatch, 한 번에 실행해서 행별 update count 를 돌려준다 */
+    static <T> int[] execute(EntityManager em, String sql, Collection<T> rows, Binder<T> binder) {
+        if (rows.isEmpty()) {
+            return new int[0];
+        }
+
+        SessionImplementor session = em.unwrap(SessionImplementor.class);
+        JdbcCoordinator jdbcCoordinator = session.getJdbcCoordinator();
+        PreparedStatement ps = jdbcCoordinator.getStatementPreparer().prepareStatement(sql);
+        try {
+            for (T row : rows) {
+                binder.bind(ps, row);
+                ps.addBatch();
+            }
+
+            session.getEventListenerManager().jdbcExecuteBatchStart();
+            try {
+                return ps.executeBatch();
+            } finally {
+                session.getEventListenerManager().jdbcExecuteBatchEnd();
+            }
+        } catch (SQLException e) {
+            throw session.getJdbcServices().getSqlExceptionHelper().convert(e, "JDBC 배치 실행 실패", sql);
+        } finally {
+            jdbcCoordinator.getLogicalConnection().getResourceRegistry().release(ps);
+            jdbcCoordinator.afterStatementExecution();
+        }
+    }
+}
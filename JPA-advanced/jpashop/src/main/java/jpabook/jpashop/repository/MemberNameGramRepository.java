@@ -0,0 +1,118 @@
+package jpabook.jpashop.repository;
+
+import jakarta.persistence.EntityManager;
+import jpabook.jpashop.domain.MemberNameGram;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 회원 이름 3-gram 색인 저장 / 조회
+ * - 검색어를 gram 으로 나눠서 모든 gram 을 가진 회원 id 만 고른다. (후보, 실제 일치 여부는 원래 like 조건으로 다시 확인)
+ * - 3글자보다 짧은 검색어는 gram 이 없으므로 호출하는 쪽에서 기존 like 검색으로 처리한다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class MemberNameGramRepository {
+
+    private static final String INSERT_SQL = "insert into member_name_gram (gram, member_id) values (?, ?)";
+
+    /* gram 을 모두 가진 회원 id (JPQL 서브쿼리로 사용) */
+    public static final String MEMBER_IDS_JPQL = "select g.memberId from MemberNameGram g" +
+            " where g.gram in :grams" +
+            " group by g.memberId" +
+            " having count(g.gram) = :gramCount";
+
+    private final EntityManager em;
+
+    /**
+     * 회원 이름 색인 교체
+     * - 이전 gram 을 지우고 새 이름의 gram 을 JDBC 배치 한 번으로 넣는다.
+     */
+    public void replace(Long memberId, String name) {
+        em.createQuery("delete from MemberNameGram g where g.memberId = :memberId")
+                .setParameter("memberId", memberId)
+                .executeUpdate();
+
+        List<Map.Entry<String, Long>> rows = new ArrayList<>();
+        addRows(rows, memberId, name);
+        insert(rows);
+    }
+
+    /**
+     * 색인이 없는 회원들 색인 (findUnindexedMembers 결과)
+     * - 모든 회원의 gram 을 JDBC 배치 한 번으로 넣는다.
+     */
+    public void index(List<Object[]> members) {
+        List<Map.Entry<String, Long>> rows = new ArrayList<>();
+        for (Object[] member : members) {
+            addRows(rows, (Long) member[0], (String) member[1]);
+        }
+        insert(rows);
+    }
+
+    private void addRows(List<Map.Entry<String, Long>> rows, Long memberId, String name) {
+        for (String gram : gramsOf(name)) {
+            rows.add(Map.entry(gram, memberId));
+        }
+    }
+
+    private void insert(List<Map.Entry<String, Long>> rows) {
+        JdbcBatch.execute(em, INSERT_SQL, rows, (ps, row) -> {
+            ps.setString(1, row.getKey());
+            ps.setLong(2, row.getValue());
+        });
+    }
+
+    /* 색인이 없는 회원 (id, 이름) - 시작 시 InitDb, DataSeeder 처럼 서비스를 거치지 않고 들어온 회원 색인용 */
+    public List<Object[]> findUnindexedMembers(Long lastMemberId, int limit) {
+        return em.createQuery("select m.id, m.name from Member m" +
+                        " where m.id > :lastMemberId" +
+                        " and not exists (select g.memberId from MemberNameGram g where g.memberId = m.id)" +
+                        " order by m.id", Object[].class)
+                .setParameter("lastMemberId", lastMemberId)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    /* 이름의 3-gram (소문자, 중복 제거) */
+    public static Set<String> gramsOf(String text) {
+        Set<String> grams = new LinkedHashSet<>();
+        if (text == null) {
+            return grams;
+        }
+        String normalized = text.toLowerCase(Locale.ROOT);
+        for (int i = 0; i + MemberNameGram.GRAM_SIZE <= normalized.length(); i++) {
+            grams.add(normalized.substring(i, i + MemberNameGram.GRAM_SIZE));
+        }
+        return grams;
+    }
+
+    /**
+     * like 패턴에서 반드시 포함되어야 하는 gram
+     * - 와일드카드(%, _)로 나뉜 글자 조각마다 gram 을 뽑는다. ('%김철수%' -> [김철수], '%홍길%동' -> [])
+     * - 결과가 비어 있으면 색인으로 좁힐 수 없다. 이스케이프 문자가 있는 패턴도 색인을 쓰지 않는다.
+     */
+    public static List<String> likePatternGrams(String pattern) {
+        Set<String> grams = new LinkedHashSet<>();
+        if (pattern == null || pattern.indexOf('\\') >= 0) {
+            return new ArrayList<>(grams);
+        }
+        for (String literal : pattern.split("[%_]")) {
+            grams.addAll(gramsOf(literal));
+        }
+        return new ArrayList<>(grams);
+    }
+
+    /* 앞이 와일드카드라서 이름 인덱스(uk_member_name)를 쓸 수 없는 패턴 */
+    public static boolean startsWithWildcard(String pattern) {
+        return pattern != null && !pattern.isEmpty()
+                && (pattern.charAt(0) == '%' || pattern.charAt(0) == '_');
+    }
+}
@@ -3,9 +3,13 @@ package jpabook.jpashop.repository;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
 import jpabook.jpashop.domain.Member;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 @Repository
 public class MemberRepository {
@@ -18,6 +22,11 @@ public class MemberRepository {
         em.persist(member);
     }
 
+    /* 쓰기 지연된 SQL 실행 - 제약 조건 위반은 DataIntegrityViolationException 으로 변환된다. */
+    public void flush() {
+        em.flush();
+    }
+
     /* 전체 회원 조회 */
     public List<Member> findAll() {
         return em.createQuery("select m from Member m", Member.class)
@@ -36,5 +45,26 @@ public class MemberRepository {
                 .getResultList();
     }
 
+    /* 같은 이름의 회원이 있는지 확인 - uk_member_name 인덱스로 한 건만 조회 */
+    public boolean existsByName(String name) {
+        return !em.createQuery("select m.id from Member m where m.name = :name", Long.class)
+                .setParameter("name", name)
+                .setMaxResults(1)
+                .getResultList()
+                .isEmpty();
+    }
+
+    /* 모든 회원 이름을 커서로 읽기 - 엔티티를 만들지 않고 이름 컬럼만 */
+    public void forEachName(int fetchSize, Consumer<String> consumer) {
+        try (ScrollableResults<String> names = em.unwrap(Session.class)
+                .createQuery("select m.name from Member m where m.name is not null", String.class)
+                .setFetchSize(fetchSize)
+                .setReadOnly(true)
+                .scroll(ScrollMode.FORWARD_ONLY)) {
+            while (names.next()) {
+                consumer.accept(names.get());
+            }
+        }
+    }
 
 }
@@ -0,0 +1,57 @@
+package jpabook.jpashop.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jpabook.jpashop.domain.OrderEventType;
+import jpabook.jpashop.domain.OrderOutbox;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+@RequiredArgsConstructor
+public class OrderOutboxRepository {
+
+    /* 다른 발행자가 잠근 행은 기다리지 않고 건너뛴다 (SKIP LOCKED, 지원하지 않는 DB 에서는 일반 for update) */
+    private static final int SKIP_LOCKED = -2;
+
+    private final EntityManager em;
+
+    /* 이벤트 저장 */
+    public void save(Long orderId, OrderEventType eventType) {
+        em.persist(OrderOutbox.create(orderId, eventType));
+    }
+
+    /* 이벤트 여러 건 저장 - JDBC 배치로 insert */
+    public void saveAll(List<Long> orderIds, OrderEventType eventType) {
+        for (Long orderId : orderIds) {
+            em.persist(OrderOutbox.create(orderId, eventType));
+        }
+    }
+
+    /**
+     * 발행할 이벤트 가져오기
+     * - select ... for update skip locked 로 잠가서 여러 발행자가 같은 이벤트를 가져가지 않게 한다.
+     */
+    public List<OrderOutbox> claimBatch(int batchSize) {
+        return em.createQuery("select e from OrderOutbox e" +
+                        " where e.publishedAt is null" +
+                        " order by e.id", OrderOutbox.class)
+                .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+                .setHint("jakarta.persistence.lock.timeout", SKIP_LOCKED)
+                .setMaxResults(batchSize)
+                .getResultList();
+    }
+
+    /* 발행 완료 표시 */
+    public void markPublished(List<Long> ids, LocalDateTime publishedAt) {
+        for (List<Long> chunk : InQueryLoader.partition(ids)) {
+            em.createQuery("update OrderOutbox e set e.publishedAt = :publishedAt where e.id in :ids")
+                    .setParameter("publishedAt", publishedAt)
+                    .setParameter("ids", chunk)
+                    .executeUpdate();
+        }
+    }
+}
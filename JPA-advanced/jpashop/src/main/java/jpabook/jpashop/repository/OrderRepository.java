@@ -1,27 +1,51 @@
 package jpabook.jpashop.repository;
 
 import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
 import jakarta.persistence.TypedQuery;
 import jakarta.persistence.criteria.*;
 import jpabook.jpashop.domain.Member;
+import jpabook.jpashop.domain.MemberNameGram;
 import jpabook.jpashop.domain.Order;
+import jpabook.jpashop.domain.OrderCancelCondition;
 import jpabook.jpashop.domain.OrderSearch;
+import jpabook.jpashop.domain.OrderStatus;
 import jpabook.jpashop.repository.order.query.OrderItemQueryDto;
 import jpabook.jpashop.repository.order.query.OrderQueryDto;
+import jpabook.jpashop.repository.order.query.OrderFlatDto;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
 import org.springframework.stereotype.Repository;
 import org.springframework.util.StringUtils;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @Repository
 @RequiredArgsConstructor
 public class OrderRepository {
 
+    /**
+     * Order - OrderItem 을 한번에 조인하는 flat 조회
+     */
+    private static final String FLAT_QUERY = "select new jpabook.jpashop.repository.order.query.OrderFlatDto" +
+            "(o.id, m.name, o.orderDate, o.status, d.address, o.totalPrice, i.name, oi.orderPrice, oi.count)" +
+            " from Order o" +
+            " join o.member m" +
+            " join o.delivery d" +
+            " left join o.orderItems oi" +
+            " left join oi.item i";
+
     private final EntityManager em;
+    private final InQueryLoader inQueryLoader;
+    private final OrderSearchQueries orderSearchQueries;
 
     /* 주문 저장 */
     public void save(Order order) {
@@ -62,6 +86,14 @@ public class OrderRepository {
             jpql += " m.name like :name";
         }
 
+        //회원 이름 3-gram 색인 - 앞이 와일드카드인 패턴은 회원 id 를 먼저 좁힌다.
+        List<String> grams = MemberNameGramRepository.startsWithWildcard(orderSearch.getMemberName())
+                ? MemberNameGramRepository.likePatternGrams(orderSearch.getMemberName())
+                : List.of();
+        if (!grams.isEmpty()) {
+            jpql += " and m.id in (" + MemberNameGramRepository.MEMBER_IDS_JPQL + ")";
+        }
+
         TypedQuery<Order> query = em.createQuery(jpql, Order.class)
                 .setMaxResults(1000);
         if (orderSearch.getOrderStatus() != null) {
@@ -70,10 +102,20 @@ public class OrderRepository {
         if (StringUtils.hasText(orderSearch.getMemberName())) {
             query = query.setParameter("name", orderSearch.getMemberName());
         }
+        if (!grams.isEmpty()) {
+            query = query.setParameter("grams", grams)
+                    .setParameter("gramCount", (long) grams.size());
+        }
 
         return query.getResultList();
     }
 
+    /* 사전 컴파일된 쿼리 사용 - 조건 조합별 쿼리에 파라미터만 바인딩 */
+    public List<Order> findAllBySearch(OrderSearch orderSearch) {
+        return orderSearchQueries.createQuery(em, orderSearch)
+                .getResultList();
+    }
+
     /* JPA Criteria 사용 */
     public List<Order> findAllByCriteria(OrderSearch orderSearch) {
         CriteriaBuilder cb = em.getCriteriaBuilder();
@@ -91,10 +133,22 @@ public class OrderRepository {
 
         //회원 이름 검색
         if (StringUtils.hasText(orderSearch.getMemberName())) {
+            String pattern = "%" + orderSearch.getMemberName() + "%";
             Predicate name =
-                    cb.like(m.<String>get("name"), "%" + orderSearch.getMemberName()
-                            + "%");
+                    cb.like(m.<String>get("name"), pattern);
             criteria.add(name);
+
+            //3-gram 색인으로 회원 id 를 먼저 좁힌다. (3글자 미만이면 like 만)
+            List<String> grams = MemberNameGramRepository.likePatternGrams(pattern);
+            if (!grams.isEmpty()) {
+                Subquery<Long> memberIds = cq.subquery(Long.class);
+                Root<MemberNameGram> g = memberIds.from(MemberNameGram.class);
+                memberIds.select(g.<Long>get("memberId"))
+                        .where(g.get("gram").in(grams))
+                        .groupBy(g.get("memberId"))
+                        .having(cb.equal(cb.count(g.get("gram")), (long) grams.size()));
+                criteria.add(m.get("id").in(memberIds));
+            }
         }
         cq.where(cb.and(criteria.toArray(new Predicate[criteria.size()])));
         TypedQuery<Order> query = em.createQuery(cq).setMaxResults(1000);
@@ -129,6 +183,36 @@ public class OrderRepository {
                 .getResultList();
     }
 
+    /**
+     * 키셋(seek) 페이징
+     * - offset 대신 마지막으로 조회한 (orderDate, id) 다음부터 조회하므로 페이지가 깊어져도 비용이 같다.
+     * - 컬렉션(orderItems)은 기존과 동일하게 @BatchSize로 로딩
+     * - o.orderDate >= :orderDate 는 OR 조건만으로는 idx_orders_order_date_id 범위 조회를 못 하므로 중복해서 추가
+     */
+    public List<Order> findAllWithMemberDelivery(LocalDateTime lastOrderDate, Long lastOrderId, int limit) {
+        if (lastOrderDate == null || lastOrderId == null) {
+            return em.createQuery(
+                            "select o from Order o" +
+                                    " join fetch o.member m" +
+                                    " join fetch o.delivery d" +
+                                    " order by o.orderDate, o.id", Order.class)
+                    .setMaxResults(limit)
+                    .getResultList();
+        }
+
+        return em.createQuery(
+                        "select o from Order o" +
+                                " join fetch o.member m" +
+                                " join fetch o.delivery d" +
+                                " where o.orderDate >= :orderDate" +
+                                " and (o.orderDate > :orderDate or o.id > :orderId)" +
+                                " order by o.orderDate, o.id", Order.class)
+                .setParameter("orderDate", lastOrderDate)
+                .setParameter("orderId", lastOrderId)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
 
     public List<OrderQueryDto> findOrderQueryDtos() {
         List<OrderQueryDto> result = findOrders();
@@ -144,6 +228,15 @@ public class OrderRepository {
     
 
     public List<OrderQueryDto> findAllByDto_optimization() {
+        return findAllByDto_optimization(false);
+    }
+
+    /**
+     * parallel = true 면 주문상품을 묶음별로 병렬 조회한다.
+     * - 별도 EntityManager / 커넥션으로 읽으므로 현재 트랜잭션, 격리 수준, 레플리카 라우팅, 영속성 컨텍스트를 따르지 않는다.
+     * - 주문과 주문상품이 같은 시점의 데이터일 필요가 없는 호출자만 사용
+     */
+    public List<OrderQueryDto> findAllByDto_optimization(boolean parallel) {
         List<OrderQueryDto> result = findOrders();
 
         List<Long> orderIds = result.stream()
@@ -151,13 +244,10 @@ public class OrderRepository {
                 .collect(Collectors.toList());
 
 
-        List<OrderItemQueryDto> orderItems = em.createQuery("select new jpabook.jpashop.repository.order.query.OrderItemQueryDto" +
-                        "(oi.order.id, i.name, oi.orderPrice, oi.count)" +
-                        " from OrderItem oi" +
-                        " join oi.item i" +
-                        " where oi.order.id in :orderIds", OrderItemQueryDto.class)
-                .setParameter("orderIds", orderIds)
-                .getResultList();
+        // IN 절을 최대 크기로 나눠서 조회 (파라미터 개수 제한 회피, 2의 거듭제곱 패딩은 하이버네이트 설정)
+        List<OrderItemQueryDto> orderItems = parallel
+                ? inQueryLoader.loadParallel(orderIds, this::findOrderItemsIn)
+                : inQueryLoader.load(orderIds, this::findOrderItemsIn);
 
         Map<Long, List<OrderItemQueryDto>> orderItemMap = orderItems.stream()
                 .collect(Collectors.groupingBy(OrderItemQueryDto -> OrderItemQueryDto.getOrderId()));
@@ -172,13 +262,219 @@ public class OrderRepository {
         return result;
     }
 
+    private List<OrderItemQueryDto> findOrderItemsIn(EntityManager entityManager, List<Long> orderIds) {
+        return entityManager.createQuery("select new jpabook.jpashop.repository.order.query.OrderItemQueryDto" +
+                        "(oi.order.id, i.name, oi.orderPrice, oi.count)" +
+                        " from OrderItem oi" +
+                        " join oi.item i" +
+                        " where oi.order.id in :orderIds", OrderItemQueryDto.class)
+                .setParameter("orderIds", orderIds)
+                .getResultList();
+    }
+
+
+    /**
+     * V6. Order ~ Item 까지 flat 조회 1번 (1 Query)
+     * - 조인으로 늘어난 행을 주문 id 기준으로 한번에 묶는다.
+     */
+    public List<OrderQueryDto> findAllByDto_flat() {
+        List<OrderFlatDto> flats = em.createQuery(FLAT_QUERY + " order by o.id", OrderFlatDto.class)
+                .getResultList();
+
+        return groupByOrder(flats, flats.size());
+    }
+
+    /**
+     * V6.1 flat 조회 페이징 (1 + 1 Query)
+     * - 조인하면 주문 상품 수만큼 행이 늘어나서 행 기준 페이징이 깨지므로 주문 id 를 먼저 페이징한다.
+     */
+    public List<OrderQueryDto> findAllByDto_flat(int offset, int limit) {
+        List<Long> orderIds = em.createQuery("select o.id from Order o order by o.id", Long.class)
+                .setFirstResult(offset)
+                .setMaxResults(limit)
+                .getResultList();
+
+        if (orderIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        List<OrderFlatDto> flats = em.createQuery(FLAT_QUERY +
+                        " where o.id in :orderIds" +
+                        " order by o.id", OrderFlatDto.class)
+                .setParameter("orderIds", orderIds)
+                .getResultList();
+
+        return groupByOrder(flats, orderIds.size());
+    }
+
+    /**
+     * flat 행 -> 주문별 OrderQueryDto 로 한번에 묶기
+     * - 주문 수를 알고 있으면 그만큼 맵을 미리 잡아서 리사이즈가 일어나지 않게 한다.
+     */
+    private List<OrderQueryDto> groupByOrder(List<OrderFlatDto> flats, int expectedOrders) {
+        Map<Long, OrderQueryDto> orderMap = new LinkedHashMap<>((int) (expectedOrders / 0.75f) + 1);
+
+        for (OrderFlatDto flat : flats) {
+            OrderQueryDto orderQueryDto = orderMap.get(flat.getOrderId());
+            if (orderQueryDto == null) {
+                orderQueryDto = flat.toOrderQueryDto();
+                orderMap.put(flat.getOrderId(), orderQueryDto);
+            }
+            flat.addOrderItemTo(orderQueryDto);
+        }
+
+        return new ArrayList<>(orderMap.values());
+    }
+
+    /**
+     * 주문 전체 스트리밍 조회 (대량 내보내기용)
+     * - 결과를 List 로 모으지 않고 forward-only 커서로 한 행씩 읽어서 주문 단위로 consumer 에 넘긴다.
+     * - JDBC 는 fetchSize 만큼씩 가져온다. DTO 로 바로 조회하므로 영속성 컨텍스트에 엔티티가 쌓이지 않아 비울 필요가 없다.
+     */
+    public void streamAllByDto(int fetchSize, Consumer<OrderQueryDto> consumer) {
+        Session session = em.unwrap(Session.class);
+
+        try (ScrollableResults<OrderFlatDto> rows = session.createQuery(FLAT_QUERY + " order by o.id", OrderFlatDto.class)
+                .setFetchSize(fetchSize)
+                .setReadOnly(true)
+                .scroll(ScrollMode.FORWARD_ONLY)) {
+
+            OrderQueryDto current = null;
+
+            while (rows.next()) {
+                OrderFlatDto row = rows.get();
+
+                // order by o.id 이므로 주문 id 가 바뀌면 이전 주문은 완성된 것
+                if (current == null || !current.getOrderId().equals(row.getOrderId())) {
+                    if (current != null) {
+                        consumer.accept(current);
+                    }
+                    current = row.toOrderQueryDto();
+                }
+                row.addOrderItemTo(current);
+            }
+
+            if (current != null) {
+                consumer.accept(current);
+            }
+        }
+    }
+
+
+    /**
+     * 일괄 취소 대상 주문 id 조회
+     * - 주문 상태(ORDER)와 배송 상태(COMPLETION 제외)를 SQL 조건으로 걸러낸다.
+     * - 배송 상태는 조건에 맞는 주문의 배송만 기본키로 확인한다. (delivery 전체 스캔 X)
+     * - 다른 트랜잭션이 같은 주문을 동시에 취소하지 못하도록 select ... for update 로 잠근다.
+     */
+    @SuppressWarnings("unchecked")
+    public List<Long> findCancelableIdsForUpdate(OrderCancelCondition condition) {
+        em.flush();
+
+        String sql = "select o.order_id from orders o" +
+                " where o.status = 'ORDER'" +
+                " and exists (select 1 from delivery d where d.delivery_id = o.delivery_id and d.status <> 'COMPLETION')";
+        if (condition.getMemberId() != null) {
+            sql += " and o.member_id = :memberId";
+        }
+        if (condition.getOrderDateFrom() != null) {
+            sql += " and o.order_date >= :orderDateFrom";
+        }
+        if (condition.getOrderDateTo() != null) {
+            sql += " and o.order_date < :orderDateTo";
+        }
+        sql += " order by o.order_id for update";
+
+        Query query = em.createNativeQuery(sql, Long.class);
+        if (condition.getMemberId() != null) {
+            query.setParameter("memberId", condition.getMemberId());
+        }
+        if (condition.getOrderDateFrom() != null) {
+            query.setParameter("orderDateFrom", condition.getOrderDateFrom());
+        }
+        if (condition.getOrderDateTo() != null) {
+            query.setParameter("orderDateTo", condition.getOrderDateTo());
+        }
+
+        return query.getResultList();
+    }
+
+    /* 주문들에 포함된 상품 id */
+    public List<Long> findItemIds(List<Long> orderIds) {
+        return inQueryLoader.load(orderIds, (entityManager, chunk) ->
+                entityManager.createQuery("select distinct oi.item.id from OrderItem oi where oi.order.id in :orderIds", Long.class)
+                        .setParameter("orderIds", chunk)
+                        .getResultList());
+    }
+
+    /**
+     * 주문 일괄 취소
+     * - 주문 상품 재고는 상품별로 합계를 내서 UPDATE 한 번에 되돌린다.
+     * - 주문 상태는 UPDATE 한 번에 CANCEL 로 변경
+     * - 벌크 연산은 영속성 컨텍스트를 거치지 않으므로 실행 전에 flush, 실행 후에 clear 한다.
+     */
+    public void cancelAll(List<Long> orderIds) {
+        em.flush();
+
+        for (List<Long> chunk : InQueryLoader.partition(orderIds)) {
+            em.createNativeQuery("update item i" +
+                            " set stock_quantity = stock_quantity +" +
+                            " (select sum(oi.count) from order_item oi" +
+                            " where oi.item_id = i.item_id and oi.order_id in (:orderIds))" +
+                            " where i.item_id in" +
+                            " (select oi.item_id from order_item oi where oi.order_id in (:orderIds))")
+                    .setParameter("orderIds", chunk)
+                    .executeUpdate();
+
+            em.createQuery("update Order o set o.status = :status where o.id in :orderIds")
+                    .setParameter("status", OrderStatus.CANCEL)
+                    .setParameter("orderIds", chunk)
+                    .executeUpdate();
+        }
+
+        em.clear();
+    }
+
+
+    /**
+     * 저장된 주문 총액 / 상품 줄 수가 order_item 합계와 다른 주문 id 조회
+     */
+    public List<Long> findTotalMismatchedIds() {
+        return em.createQuery("select o.id from Order o" +
+                        " where o.totalPrice <>" +
+                        " (select coalesce(sum(oi.orderPrice * oi.count), 0) from OrderItem oi where oi.order = o)" +
+                        " or o.orderItemCount <>" +
+                        " (select count(oi) from OrderItem oi where oi.order = o)", Long.class)
+                .getResultList();
+    }
+
+    /**
+     * 주문 총액 / 상품 줄 수를 order_item 기준으로 다시 계산
+     */
+    public void recalculateTotals(List<Long> orderIds) {
+        em.flush();
+
+        for (List<Long> chunk : InQueryLoader.partition(orderIds)) {
+            em.createNativeQuery("update orders o" +
+                            " set total_price = (select coalesce(sum(oi.order_price * oi.count), 0)" +
+                            " from order_item oi where oi.order_id = o.order_id)," +
+                            " order_item_count = (select count(*)" +
+                            " from order_item oi where oi.order_id = o.order_id)" +
+                            " where o.order_id in (:orderIds)")
+                    .setParameter("orderIds", chunk)
+                    .executeUpdate();
+        }
+
+        em.clear();
+    }
+
 
     /**
      * List<OrderItemQueryDto> 제외한 나머지를 한번에 조회
      */
     private List<OrderQueryDto> findOrders() {
         return em.createQuery("select new jpabook.jpashop.repository.order.query.OrderQueryDto" +
-                        "(o.id, m.name, o.orderDate, o.status, d.address)" +
+                        "(o.id, m.name, o.orderDate, o.status, d.address, o.totalPrice)" +
                         " from Order o" +
                         " join o.member m" +
                         " join o.delivery d", OrderQueryDto.class)
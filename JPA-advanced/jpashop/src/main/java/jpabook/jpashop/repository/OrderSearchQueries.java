@@ -0,0 +1,149 @@
+package jpabook.jpashop.repository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.TypedQuery;
+import jpabook.jpashop.domain.Order;
+import jpabook.jpashop.domain.OrderSearch;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.util.List;
+
+/**
+ * 주문 검색 쿼리 사전 컴파일
+ * - 검색 조건 조합(주문 상태 x 회원 이름 x 최소 총액)마다 JPQL 을 애플리케이션 시작 시점에 한 번만 만들어서 named query 로 등록한다.
+ * - 요청마다 JPQL 문자열 조립, Criteria 트리 생성, 파싱 없이 조건 비트마스크로 쿼리를 찾아 파라미터만 바인딩한다.
+ * - 앞이 와일드카드인 회원 이름 패턴은 이름 3-gram 색인으로 회원 id 를 먼저 좁힌다. (MemberNameGramRepository)
+ */
+@Component
+public class OrderSearchQueries {
+
+    static final int STATUS = 1;             // 주문 상태 조건
+    static final int MEMBER_NAME = 1 << 1;   // 회원 이름 조건
+    static final int MIN_TOTAL_PRICE = 1 << 2;   // 최소 주문 총액 조건
+    static final int MEMBER_NAME_GRAM = 1 << 3;  // 회원 이름 3-gram 색인 조건 (MEMBER_NAME 과 함께)
+    static final int VARIANTS = 1 << 4;
+
+    private static final String QUERY_NAME_PREFIX = "Order.search.";
+    private static final int MAX_RESULTS = 1000;
+
+    private final EntityManagerFactory emf;
+
+    private final Counter hitCounter;
+    private final Counter missCounter;
+
+    public OrderSearchQueries(EntityManagerFactory emf, MeterRegistry meterRegistry) {
+        this.emf = emf;
+        this.hitCounter = Counter.builder("order.search.query")
+                .tag("result", "hit")
+                .description("사전 컴파일된 주문 검색 쿼리 사용 횟수")
+                .register(meterRegistry);
+        this.missCounter = Counter.builder("order.search.query")
+                .tag("result", "miss")
+                .description("사전 컴파일된 쿼리가 없어서 새로 만든 횟수")
+                .register(meterRegistry);
+        Gauge.builder("order.search.query.hit.ratio", this, OrderSearchQueries::hitRatio)
+                .register(meterRegistry);
+    }
+
+    /* 조건 조합별 쿼리를 named query 로 등록 */
+    @PostConstruct
+    public void init() {
+        EntityManager em = emf.createEntityManager();
+        try {
+            for (int mask = 0; mask < VARIANTS; mask++) {
+                TypedQuery<Order> query = em.createQuery(jpql(mask), Order.class)
+                        .setMaxResults(MAX_RESULTS);
+                emf.addNamedQuery(queryName(mask), query);
+            }
+        } finally {
+            em.close();
+        }
+    }
+
+    /* 검색 조건에 맞는 쿼리에 파라미터 바인딩 */
+    public TypedQuery<Order> createQuery(EntityManager em, OrderSearch orderSearch) {
+        int mask = conditionMask(orderSearch);
+
+        TypedQuery<Order> query;
+        try {
+            query = em.createNamedQuery(queryName(mask), Order.class);
+            hitCounter.increment();
+        } catch (IllegalArgumentException e) {
+            query = em.createQuery(jpql(mask), Order.class);
+            missCounter.increment();
+        }
+
+        query.setMaxResults(MAX_RESULTS);
+        if ((mask & STATUS) != 0) {
+            query.setParameter("status", orderSearch.getOrderStatus());
+        }
+        if ((mask & MEMBER_NAME) != 0) {
+            query.setParameter("name", orderSearch.getMemberName());
+        }
+        if ((mask & MEMBER_NAME_GRAM) != 0) {
+            List<String> grams = MemberNameGramRepository.likePatternGrams(orderSearch.getMemberName());
+            query.setParameter("grams", grams);
+            query.setParameter("gramCount", (long) grams.size());
+        }
+        if ((mask & MIN_TOTAL_PRICE) != 0) {
+            query.setParameter("minTotalPrice", orderSearch.getMinTotalPrice());
+        }
+        return query;
+    }
+
+    static int conditionMask(OrderSearch orderSearch) {
+        int mask = 0;
+        if (orderSearch.getOrderStatus() != null) {
+            mask |= STATUS;
+        }
+        if (StringUtils.hasText(orderSearch.getMemberName())) {
+            mask |= MEMBER_NAME;
+            if (MemberNameGramRepository.startsWithWildcard(orderSearch.getMemberName())
+                    && !MemberNameGramRepository.likePatternGrams(orderSearch.getMemberName()).isEmpty()) {
+                mask |= MEMBER_NAME_GRAM;
+            }
+        }
+        if (orderSearch.getMinTotalPrice() != null) {
+            mask |= MIN_TOTAL_PRICE;
+        }
+        return mask;
+    }
+
+    /* findAllByString 과 같은 조건의 JPQL + 저장된 주문 총액 조건 (order_item 조인 X) */
+    static String jpql(int mask) {
+        StringBuilder jpql = new StringBuilder("select o From Order o join o.member m");
+        String prefix = " where";
+
+        if ((mask & STATUS) != 0) {
+            jpql.append(prefix).append(" o.status = :status");
+            prefix = " and";
+        }
+        if ((mask & MEMBER_NAME) != 0) {
+            jpql.append(prefix).append(" m.name like :name");
+            prefix = " and";
+        }
+        if ((mask & MEMBER_NAME_GRAM) != 0) {
+            jpql.append(prefix).append(" m.id in (").append(MemberNameGramRepository.MEMBER_IDS_JPQL).append(")");
+            prefix = " and";
+        }
+        if ((mask & MIN_TOTAL_PRICE) != 0) {
+            jpql.append(prefix).append(" o.totalPrice >= :minTotalPrice");
+        }
+        return jpql.toString();
+    }
+
+    private static String queryName(int mask) {
+        return QUERY_NAME_PREFIX + mask;
+    }
+
+    private double hitRatio() {
+        double total = hitCounter.count() + missCounter.count();
+        return total == 0 ? 1.0 : hitCounter.count() / total;
+    }
+}
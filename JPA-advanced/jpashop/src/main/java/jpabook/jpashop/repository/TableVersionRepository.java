@@ -0,0 +1,37 @@
+package jpabook.jpashop.repository;
+
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Repository;
+
+/**
+ * 테이블 버전 (table_version)
+ * - 테이블을 쓰는 트랜잭션 안에서 increment 하므로 커밋 / 롤백이 데이터와 같이 된다.
+ * - 같은 행을 잠그므로 같은 테이블의 쓰기 트랜잭션은 커밋 순서대로 줄을 선다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class TableVersionRepository {
+
+    public static final String MEMBER = "member";
+
+    /* 엔티티를 거치지 않는 JDBC 쓰기에서도 사용 (DataSeeder) */
+    public static final String INCREMENT_SQL = "update table_version set version = version + 1 where table_name = ?";
+
+    private final EntityManager em;
+
+    /* 현재 버전 - PK 한 건 조회 */
+    public long find(String tableName) {
+        return ((Number) em.createNativeQuery("select version from table_version where table_name = :tableName")
+                .setParameter("tableName", tableName)
+                .getSingleResult())
+                .longValue();
+    }
+
+    /* 버전 증가 - 현재 트랜잭션에서 실행 */
+    public void increment(String tableName) {
+        em.createNativeQuery(INCREMENT_SQL)
+                .setParameter(1, tableName)
+                .executeUpdate();
+    }
+}
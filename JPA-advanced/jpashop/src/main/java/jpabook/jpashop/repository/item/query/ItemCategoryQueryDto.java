@@ -0,0 +1,19 @@
+package jpabook.jpashop.repository.item.query;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.Data;
+
+@Data
+public class ItemCategoryQueryDto {
+
+    @JsonIgnore
+    private Long itemId;
+    private Long categoryId;
+    private String name;
+
+    public ItemCategoryQueryDto(Long itemId, Long categoryId, String name) {
+        this.itemId = itemId;
+        this.categoryId = categoryId;
+        this.name = name;
+    }
+}
@@ -0,0 +1,20 @@
+package jpabook.jpashop.repository.item.query;
+
+import lombok.Getter;
+
+/* 주문 폼 상품 선택용 - 스냅샷에 그대로 보관하므로 불변 */
+@Getter
+public class ItemOptionDto {
+
+    private final Long id;
+    private final String name;
+    private final int price;
+    private final int stockQuantity;
+
+    public ItemOptionDto(Long id, String name, int price, int stockQuantity) {
+        this.id = id;
+        this.name = name;
+        this.price = price;
+        this.stockQuantity = stockQuantity;
+    }
+}
@@ -0,0 +1,32 @@
+package jpabook.jpashop.repository.item.query;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+@Data
+public class ItemQueryDto {
+
+    private Long id;
+    private String name;
+    private int price;
+    private int stockQuantity;
+
+    private List<ItemCategoryQueryDto> categories = Collections.emptyList();    // 카테고리가 없는 상품은 리스트를 만들지 않는다.
+
+    public ItemQueryDto(Long id, String name, int price, int stockQuantity) {
+        this.id = id;
+        this.name = name;
+        this.price = price;
+        this.stockQuantity = stockQuantity;
+    }
+
+    public void addCategory(ItemCategoryQueryDto category) {
+        if (categories.isEmpty()) {
+            categories = new ArrayList<>(2);
+        }
+        categories.add(category);
+    }
+}
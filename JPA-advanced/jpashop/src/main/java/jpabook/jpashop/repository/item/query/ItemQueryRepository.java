@@ -0,0 +1,105 @@
+package jpabook.jpashop.repository.item.query;
+
+import jakarta.persistence.EntityManager;
+import jpabook.jpashop.repository.InQueryLoader;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 카테고리를 포함한 상품 목록 조회
+ * - 상품 페이지 1 Query + 카테고리 IN 1 Query (페이지가 512건을 넘으면 청크 수만큼)
+ * - Item.categories 지연 로딩을 건드리지 않으므로 상품 수만큼 category_item 을 조회하지 않는다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ItemQueryRepository {
+
+    private final EntityManager em;
+    private final InQueryLoader inQueryLoader;
+
+    /* 상품 목록 페이징 (offset) */
+    public List<ItemQueryDto> findItems(int offset, int limit) {
+        List<ItemQueryDto> items = em.createQuery(
+                        "select new jpabook.jpashop.repository.item.query.ItemQueryDto(i.id, i.name, i.price, i.stockQuantity)" +
+                        " from Item i" +
+                        " order by i.id", ItemQueryDto.class)
+                .setFirstResult(offset)
+                .setMaxResults(limit)
+                .getResultList();
+
+        attachCategories(items);
+        return items;
+    }
+
+    /**
+     * 상품 목록 페이징 (키셋)
+     * - lastItemId 이후부터 조회하므로 상품이 수십만 건이어도 깊은 페이지 비용이 첫 페이지와 같다.
+     */
+    public List<ItemQueryDto> findItemsAfter(Long lastItemId, int limit) {
+        List<ItemQueryDto> items = em.createQuery(
+                        "select new jpabook.jpashop.repository.item.query.ItemQueryDto(i.id, i.name, i.price, i.stockQuantity)" +
+                        " from Item i" +
+                        " where i.id > :lastItemId" +
+                        " order by i.id", ItemQueryDto.class)
+                .setParameter("lastItemId", lastItemId == null ? 0L : lastItemId)
+                .setMaxResults(limit)
+                .getResultList();
+
+        attachCategories(items);
+        return items;
+    }
+
+    /* 주문 폼 상품 선택용 - 전체 (id, 이름, 가격, 재고만) */
+    public List<ItemOptionDto> findItemOptions() {
+        return em.createQuery(
+                        "select new jpabook.jpashop.repository.item.query.ItemOptionDto(i.id, i.name, i.price, i.stockQuantity)" +
+                        " from Item i" +
+                        " order by i.id", ItemOptionDto.class)
+                .getResultList();
+    }
+
+    /* 주문 폼 상품 선택용 - 변경된 상품만 */
+    public List<ItemOptionDto> findItemOptions(Collection<Long> itemIds) {
+        return inQueryLoader.load(itemIds, (entityManager, chunk) ->
+                entityManager.createQuery(
+                                "select new jpabook.jpashop.repository.item.query.ItemOptionDto(i.id, i.name, i.price, i.stockQuantity)" +
+                                " from Item i" +
+                                " where i.id in :itemIds", ItemOptionDto.class)
+                        .setParameter("itemIds", chunk)
+                        .getResultList());
+    }
+
+    /* 페이지의 상품 id 로 카테고리를 한 번에 조회해서 메모리에서 묶는다. */
+    private void attachCategories(List<ItemQueryDto> items) {
+        if (items.isEmpty()) {
+            return;
+        }
+
+        Map<Long, ItemQueryDto> itemMap = new HashMap<>(items.size() * 4 / 3 + 1);
+        List<Long> itemIds = new ArrayList<>(items.size());
+        for (ItemQueryDto item : items) {
+            itemMap.put(item.getId(), item);
+            itemIds.add(item.getId());
+        }
+
+        List<ItemCategoryQueryDto> categories = inQueryLoader.load(itemIds, (entityManager, chunk) ->
+                entityManager.createQuery(
+                                "select new jpabook.jpashop.repository.item.query.ItemCategoryQueryDto(i.id, c.id, c.name)" +
+                                " from Category c" +
+                                " join c.items i" +
+                                " where i.id in :itemIds" +
+                                " order by c.id", ItemCategoryQueryDto.class)
+                        .setParameter("itemIds", chunk)
+                        .getResultList());
+
+        for (ItemCategoryQueryDto category : categories) {
+            itemMap.get(category.getItemId()).addCategory(category);
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package jpabook.jpashop.repository.member.query;
+
+import lombok.Data;
+
+@Data
+public class MemberQueryDto {
+
+    private Long id;
+    private String name;
+
+    public MemberQueryDto(Long id, String name) {
+        this.id = id;
+        this.name = name;
+    }
+}
@@ -0,0 +1,63 @@
+package jpabook.jpashop.repository.member.query;
+
+import jakarta.persistence.EntityManager;
+import jpabook.jpashop.repository.InQueryLoader;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 회원 목록 조회 - 필요한 컬럼(id, name)만 DTO 로 조회, 주소 / 엔티티 X
+ */
+@Repository
+@RequiredArgsConstructor
+public class MemberQueryRepository {
+
+    private final EntityManager em;
+    private final InQueryLoader inQueryLoader;
+
+    /* 회원 목록 페이징 (offset) */
+    public List<MemberQueryDto> findMembers(int offset, int limit) {
+        return em.createQuery(
+                        "select new jpabook.jpashop.repository.member.query.MemberQueryDto(m.id, m.name)" +
+                        " from Member m" +
+                        " order by m.id", MemberQueryDto.class)
+                .setFirstResult(offset)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    /* 회원 목록 페이징 (키셋) - lastMemberId 이후부터 */
+    public List<MemberQueryDto> findMembersAfter(Long lastMemberId, int limit) {
+        return em.createQuery(
+                        "select new jpabook.jpashop.repository.member.query.MemberQueryDto(m.id, m.name)" +
+                        " from Member m" +
+                        " where m.id > :lastMemberId" +
+                        " order by m.id", MemberQueryDto.class)
+                .setParameter("lastMemberId", lastMemberId)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    /* 회원 전체 (id, 이름) */
+    public List<MemberQueryDto> findAllMembers() {
+        return em.createQuery(
+                        "select new jpabook.jpashop.repository.member.query.MemberQueryDto(m.id, m.name)" +
+                        " from Member m" +
+                        " order by m.id", MemberQueryDto.class)
+                .getResultList();
+    }
+
+    /* 회원 여러 건 (id, 이름) - IN 쿼리 */
+    public List<MemberQueryDto> findMembersByIds(Collection<Long> memberIds) {
+        return inQueryLoader.load(memberIds, (entityManager, chunk) ->
+                entityManager.createQuery(
+                                "select new jpabook.jpashop.repository.member.query.MemberQueryDto(m.id, m.name)" +
+                                " from Member m" +
+                                " where m.id in :memberIds", MemberQueryDto.class)
+                        .setParameter("memberIds", chunk)
+                        .getResultList());
+    }
+}
@@ -0,0 +1,55 @@
+package jpabook.jpashop.repository.order.query;
+
+import jpabook.jpashop.domain.Address;
+import jpabook.jpashop.domain.OrderStatus;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+
+/**
+ * Order, Member, Delivery, OrderItem, Item 을 한번에 조인한 한 행
+ * - 주문 상품이 없는 주문은 left join 이므로 상품 컬럼이 null
+ */
+@Data
+public class OrderFlatDto {
+
+    private Long orderId;
+    private String name;
+    private LocalDateTime orderDate;
+    private OrderStatus orderStatus;
+    private Address address;
+    private int totalPrice;
+
+    private String itemName;
+    private Integer orderPrice;
+    private Integer count;
+
+    public OrderFlatDto(Long orderId, String name, LocalDateTime orderDate, OrderStatus orderStatus, Address address,
+                        int totalPrice, String itemName, Integer orderPrice, Integer count) {
+        this.orderId = orderId;
+        this.name = name;
+        this.orderDate = orderDate;
+        this.orderStatus = orderStatus;
+        this.address = address;
+        this.totalPrice = totalPrice;
+        this.itemName = itemName;
+        this.orderPrice = orderPrice;
+        this.count = count;
+    }
+
+    /* 주문 정보만 꺼내기 */
+    public OrderQueryDto toOrderQueryDto() {
+        OrderQueryDto orderQueryDto = new OrderQueryDto(orderId, name, orderDate, orderStatus, address, totalPrice);
+        orderQueryDto.setOrderItems(new ArrayList<>());
+        return orderQueryDto;
+    }
+
+    /* 주문 상품이 있으면 주문에 추가 */
+    public void addOrderItemTo(OrderQueryDto orderQueryDto) {
+        if (orderPrice == null) {
+            return;
+        }
+        orderQueryDto.getOrderItems().add(new OrderItemQueryDto(orderId, itemName, orderPrice, count));
+    }
+}
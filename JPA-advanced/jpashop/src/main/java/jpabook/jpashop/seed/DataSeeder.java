@@ -0,0 +1,280 @@
+package jpabook.jpashop.seed;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import jpabook.jpashop.repository.TableVersionRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.*;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 대량 데이터 생성 (seed 프로필에서만 실행, 대신 InitDb 는 실행하지 않는다)
+ * - 엔티티 / 영속성 컨텍스트를 거치지 않고 JDBC 배치 insert
+ * - 회원을 chunkSize 명씩 나눠서 threads 개 스레드가 각자 커넥션 / 트랜잭션으로 만든다.
+ * - id 는 직접 매기고, 끝나면 시퀀스를 최대 id 이후로 넘긴다. (방언의 nextval 조회를 반복, 재시작 DDL 은 쓰지 않는다)
+ * ex) ./gradlew bootRun --args='--spring.profiles.active=seed --jpashop.seed.members=1000000'
+ */
+@Slf4j
+@Component
+@Profile("seed")
+@RequiredArgsConstructor
+public class DataSeeder implements ApplicationRunner {
+
+    private static final String INSERT_ITEM = "insert into item (dtype, item_id, name, price, stock_quantity, author, isbn) values ('Book', ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_MEMBER = "insert into member (member_id, name, city, street, zipcode) values (?, ?, ?, ?, ?)";
+    private static final String INSERT_DELIVERY = "insert into delivery (delivery_id, city, street, zipcode, status) values (?, ?, ?, ?, ?)";
+    private static final String INSERT_ORDER = "insert into orders (order_id, member_id, delivery_id, order_date, status, total_price, order_item_count) values (?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_ORDER_ITEM = "insert into order_item (order_item_id, order_id, item_id, order_price, count) values (?, ?, ?, ?, ?)";
+
+    private final DataSource dataSource;
+    private final EntityManagerFactory entityManagerFactory;
+    private final SeedProperties properties;
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        if (!properties.isAppend() && maxId("member", "member_id") > 0) {
+            log.info("회원이 이미 있어서 데이터 생성을 건너뜁니다. (jpashop.seed.append=true 로 추가 생성)");
+            return;
+        }
+
+        long start = System.currentTimeMillis();
+        long itemBase = maxId("item", "item_id");
+        long memberBase = maxId("member", "member_id");
+        AtomicLong orderIds = new AtomicLong(Math.max(maxId("orders", "order_id"), maxId("delivery", "delivery_id")));
+        long orderItemBase = maxId("order_item", "order_item_id");
+        AtomicLong orderItemIds = new AtomicLong(orderItemBase);
+
+        seedItems(itemBase);
+        ItemSampler itemSampler = new ItemSampler(properties.getItems(), properties.getItemSkew());
+
+        ExecutorService executor = Executors.newFixedThreadPool(properties.getThreads());
+        try {
+            List<Future<Long>> futures = new ArrayList<>();
+            for (int from = 0; from < properties.getMembers(); from += properties.getChunkSize()) {
+                int chunkFrom = from;
+                int chunkTo = Math.min(from + properties.getChunkSize(), properties.getMembers());
+                futures.add(executor.submit(() ->
+                        seedMembersAndOrders(memberBase, chunkFrom, chunkTo, itemBase, itemSampler, orderIds, orderItemIds)));
+            }
+
+            long orders = 0;
+            for (Future<Long> future : futures) {
+                orders += future.get();
+            }
+            log.info("데이터 생성 완료. items={}, members={}, orders={}, orderItems={}, {}ms",
+                    properties.getItems(), properties.getMembers(), orders,
+                    orderItemIds.get() - orderItemBase, System.currentTimeMillis() - start);
+        } finally {
+            executor.shutdown();
+        }
+
+        advanceSequence("item_seq", maxId("item", "item_id"));
+        advanceSequence("member_seq", maxId("member", "member_id"));
+        advanceSequence("orders_seq", orderIds.get());
+        advanceSequence("delivery_seq", orderIds.get());
+        advanceSequence("order_item_seq", orderItemIds.get());
+    }
+
+    /* 상품 - 재고는 주문으로 줄어들지 않도록 넉넉하게 */
+    private void seedItems(long itemBase) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement ps = connection.prepareStatement(INSERT_ITEM)) {
+            connection.setAutoCommit(false);
+            for (int i = 1; i <= properties.getItems(); i++) {
+                ps.setLong(1, itemBase + i);
+                ps.setString(2, "BOOK-" + i);
+                ps.setInt(3, price(i));
+                ps.setInt(4, 1_000_000);
+                ps.setString(5, "author-" + (i % 1000));
+                ps.setString(6, String.format("isbn-%010d", i));
+                ps.addBatch();
+                if (i % properties.getBatchSize() == 0) {
+                    ps.executeBatch();
+                }
+            }
+            ps.executeBatch();
+            connection.commit();
+        }
+    }
+
+    /* 회원 [from, to) 와 그 회원들의 주문 / 배송 / 주문 상품 - 한 트랜잭션 */
+    private long seedMembersAndOrders(long memberBase, int from, int to, long itemBase, ItemSampler itemSampler,
+                                      AtomicLong orderIds, AtomicLong orderItemIds) throws SQLException {
+        Random random = new Random(properties.getRandomSeed() + from);
+        LocalDateTime now = LocalDateTime.now();
+        long orders = 0;
+
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement memberPs = connection.prepareStatement(INSERT_MEMBER);
+             PreparedStatement deliveryPs = connection.prepareStatement(INSERT_DELIVERY);
+             PreparedStatement orderPs = connection.prepareStatement(INSERT_ORDER);
+             PreparedStatement orderItemPs = connection.prepareStatement(INSERT_ORDER_ITEM);
+             PreparedStatement versionPs = connection.prepareStatement(TableVersionRepository.INCREMENT_SQL)) {
+            connection.setAutoCommit(false);
+            int pending = 0;
+
+            for (int m = from; m < to; m++) {
+                long memberId = memberBase + m + 1;
+                String city = "city-" + (m % 100);
+                String street = "street-" + (m % 1000);
+                String zipcode = String.format("%05d", m % 100_000);
+
+                memberPs.setLong(1, memberId);
+                memberPs.setString(2, "member-" + memberId);
+                memberPs.setString(3, city);
+                memberPs.setString(4, street);
+                memberPs.setString(5, zipcode);
+                memberPs.addBatch();
+                pending++;
+
+                int orderCount = (int) Math.min(properties.getMaxOrdersPerMember(),
+                        Math.floor(-properties.getOrdersPerMemberMean() * Math.log(1 - random.nextDouble())));
+                for (int o = 0; o < orderCount; o++) {
+                    long orderId = orderIds.incrementAndGet();
+                    boolean canceled = random.nextDouble() < properties.getCancelRatio();
+                    boolean completed = !canceled && random.nextDouble() < properties.getCompletedRatio();
+
+                    deliveryPs.setLong(1, orderId);         // 주문과 배송은 1:1 이므로 같은 id
+                    deliveryPs.setString(2, city);
+                    deliveryPs.setString(3, street);
+                    deliveryPs.setString(4, zipcode);
+                    deliveryPs.setString(5, completed ? "COMPLETION" : "READY");
+                    deliveryPs.addBatch();
+
+                    int lines = 1 + random.nextInt(properties.getMaxItemsPerOrder());
+                    long firstOrderItemId = orderItemIds.getAndAdd(lines) + 1;
+                    int totalPrice = 0;
+                    for (int l = 0; l < lines; l++) {
+                        int item = itemSampler.sample(random);
+                        int count = 1 + random.nextInt(properties.getMaxCountPerLine());
+                        orderItemPs.setLong(1, firstOrderItemId + l);
+                        orderItemPs.setLong(2, orderId);
+                        orderItemPs.setLong(3, itemBase + item);
+                        orderItemPs.setInt(4, price(item));
+                        orderItemPs.setInt(5, count);
+                        orderItemPs.addBatch();
+                        totalPrice += price(item) * count;
+                    }
+
+                    orderPs.setLong(1, orderId);
+                    orderPs.setLong(2, memberId);
+                    orderPs.setLong(3, orderId);
+                    orderPs.setTimestamp(4, Timestamp.valueOf(now.minusSeconds(random.nextInt(properties.getOrderDays() * 86_400))));
+                    orderPs.setString(5, canceled ? "CANCEL" : "ORDER");
+                    orderPs.setInt(6, totalPrice);
+                    orderPs.setInt(7, lines);
+                    orderPs.addBatch();
+
+                    pending += lines + 2;
+                    orders++;
+                }
+
+                if (pending >= properties.getBatchSize()) {
+                    executeBatches(memberPs, deliveryPs, orderPs, orderItemPs);
+                    pending = 0;
+                }
+            }
+            executeBatches(memberPs, deliveryPs, orderPs, orderItemPs);
+
+            // 회원 목록 ETag - 커밋 직전에 올려서 다른 청크와 버전 행 잠금이 겹치는 시간을 줄인다.
+            versionPs.setString(1, TableVersionRepository.MEMBER);
+            versionPs.executeUpdate();
+            connection.commit();
+        }
+        return orders;
+    }
+
+    /* 외래 키 순서대로 실행 */
+    private void executeBatches(PreparedStatement... statements) throws SQLException {
+        for (PreparedStatement statement : statements) {
+            statement.executeBatch();
+        }
+    }
+
+    /* 상품 번호로 정해지는 가격 (1,000 ~ 100,000) */
+    private static int price(int item) {
+        return 1_000 + (int) ((item * 2_654_435_761L) % 100) * 1_000;
+    }
+
+    private long maxId(String table, String idColumn) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("select coalesce(max(" + idColumn + "), 0) from " + table)) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    /**
+     * 시퀀스를 maxId 이후로 넘기기
+     * - 시퀀스 재시작 DDL 은 DB 마다 달라서, 방언(Dialect)이 만드는 nextval 조회를 반복한다. (allocationSize 단위로 증가하므로 maxId / 50 번 정도)
+     * - 하이버네이트 pooled 옵티마이저는 다음 시퀀스 값 - (allocationSize - 1) 부터 쓰므로, 마지막으로 받은 값이 maxId 이상이면 된다.
+     */
+    private void advanceSequence(String sequence, long maxId) throws SQLException {
+        String nextValueSql = dialect().getSequenceSupport().getSequenceNextValString(sequence);
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement ps = connection.prepareStatement(nextValueSql)) {
+            long value;
+            do {
+                try (ResultSet rs = ps.executeQuery()) {
+                    rs.next();
+                    value = rs.getLong(1);
+                }
+            } while (value < maxId);
+        }
+    }
+
+    private Dialect dialect() {
+        return entityManagerFactory.unwrap(SessionFactoryImplementor.class).getJdbcServices().getDialect();
+    }
+
+    /**
+     * 상품 번호(1 ~ items) 뽑기 - Zipf 분포, 누적 확률 배열에서 이진 탐색
+     */
+    static class ItemSampler {
+
+        private final double[] cumulative;
+
+        ItemSampler(int items, double skew) {
+            cumulative = new double[items];
+            double sum = 0;
+            for (int i = 0; i < items; i++) {
+                sum += 1.0 / Math.pow(i + 1, skew);
+                cumulative[i] = sum;
+            }
+            for (int i = 0; i < items; i++) {
+                cumulative[i] /= sum;
+            }
+        }
+
+        int sample(Random random) {
+            double u = random.nextDouble();
+            int low = 0;
+            int high = cumulative.length - 1;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (cumulative[mid] < u) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low + 1;
+        }
+    }
+}
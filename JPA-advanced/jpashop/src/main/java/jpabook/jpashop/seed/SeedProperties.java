@@ -0,0 +1,38 @@
+package jpabook.jpashop.seed;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+/**
+ * 대량 데이터 생성 설정 (seed 프로필, application-seed.yml)
+ */
+@Component
+@Profile("seed")
+@ConfigurationProperties(prefix = "jpashop.seed")
+@Getter @Setter
+public class SeedProperties {
+
+    /* 건수 */
+    private int members = 100_000;
+    private int items = 10_000;
+
+    /* 분포 */
+    private double ordersPerMemberMean = 3.0;   // 회원당 주문 수 평균 (지수 분포, 주문이 없는 회원도 있음)
+    private int maxOrdersPerMember = 50;
+    private int maxItemsPerOrder = 5;           // 주문당 상품 줄 수 1 ~ max 균등 분포
+    private int maxCountPerLine = 3;            // 상품 줄당 수량 1 ~ max 균등 분포
+    private double itemSkew = 1.0;              // 상품 인기도 Zipf 지수 (0 이면 균등)
+    private int orderDays = 365;                // 최근 orderDays 일 안에서 주문 일시 균등 분포
+    private double cancelRatio = 0.05;          // 취소 주문 비율
+    private double completedRatio = 0.5;        // 배송 완료 비율 (취소되지 않은 주문 중)
+
+    /* 실행 */
+    private int threads = Runtime.getRuntime().availableProcessors();
+    private int chunkSize = 10_000;             // 작업 하나(트랜잭션 하나)가 만드는 회원 수
+    private int batchSize = 1_000;              // JDBC 배치 크기
+    private long randomSeed = 42L;
+    private boolean append = false;             // false 면 회원이 이미 있을 때 건너뛴다.
+}
@@ -0,0 +1,56 @@
+package jpabook.jpashop.service;
+
+import jpabook.jpashop.repository.item.query.ItemOptionDto;
+import lombok.Getter;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 주문 폼 상품 목록 스냅샷 (불변)
+ * - 상품 (id, 이름, 가격, 재고) 을 id 순서로 가진다.
+ * - 변경은 바뀐 행만 교체한 새 스냅샷을 만들고 version 을 올린다. 기존 스냅샷을 읽는 중인 요청은 영향 X
+ * - 회원은 수가 많아서 목록 대신 MemberNameIndex 접두어 검색으로 고른다.
+ */
+public class CatalogSnapshot {
+
+    static final CatalogSnapshot EMPTY = new CatalogSnapshot(0, new TreeMap<>());
+
+    @Getter
+    private final long version;
+    private final Map<Long, ItemOptionDto> items;
+
+    @Getter
+    private final List<ItemOptionDto> itemList;
+
+    private CatalogSnapshot(long version, TreeMap<Long, ItemOptionDto> items) {
+        this.version = version;
+        this.items = Collections.unmodifiableMap(items);
+        this.itemList = List.copyOf(items.values());
+    }
+
+    static CatalogSnapshot of(long version, List<ItemOptionDto> items) {
+        TreeMap<Long, ItemOptionDto> itemMap = new TreeMap<>();
+        items.forEach(item -> itemMap.put(item.getId(), item));
+        return new CatalogSnapshot(version, itemMap);
+    }
+
+    public ItemOptionDto findItem(Long itemId) {
+        return items.get(itemId);
+    }
+
+    /**
+     * 바뀐 행만 교체한 다음 버전
+     * - changedIds 중 조회 결과에 없는 id 는 삭제된 것으로 보고 뺀다.
+     */
+    CatalogSnapshot apply(Collection<Long> changedItemIds, List<ItemOptionDto> changedItems) {
+        TreeMap<Long, ItemOptionDto> itemMap = new TreeMap<>(items);
+        itemMap.keySet().removeAll(changedItemIds);
+        changedItems.forEach(item -> itemMap.put(item.getId(), item));
+
+        return new CatalogSnapshot(version + 1, itemMap);
+    }
+}
@@ -0,0 +1,69 @@
+package jpabook.jpashop.service;
+
+import jpabook.jpashop.domain.Category;
+import jpabook.jpashop.domain.Item.Item;
+import jpabook.jpashop.repository.CategoryRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class CategoryService {
+
+    private final CategoryRepository categoryRepository;
+
+    /* 카테고리 저장 */
+    @Transactional
+    public Long saveCategory(Category category) {
+        categoryRepository.save(category);
+        return category.getId();
+    }
+
+    /* 하위 트리 조회 (자신 포함, path 순) */
+    public List<Category> findSubtree(Long categoryId) {
+        return categoryRepository.findSubtree(pathOf(findCategory(categoryId)));
+    }
+
+    /* 하위 트리 전체의 상품 조회 */
+    public List<Item> findItemsUnder(Long categoryId) {
+        return categoryRepository.findItemsUnder(pathOf(findCategory(categoryId)));
+    }
+
+    /**
+     * 카테고리 이동
+     * - 상위 카테고리와 자신 / 모든 하위 카테고리의 경로를 UPDATE 로 바꾼다. (CategoryRepository.move)
+     * - newParentId 가 null 이면 루트로 이동
+     */
+    @Transactional
+    public void moveCategory(Long categoryId, Long newParentId) {
+        Category category = findCategory(categoryId);
+        Category newParent = newParentId == null ? null : findCategory(newParentId);
+
+        String oldPath = pathOf(category);
+        if (newParent != null && pathOf(newParent).startsWith(oldPath)) {
+            throw new IllegalArgumentException("하위 카테고리 아래로 이동할 수 없습니다.");
+        }
+
+        categoryRepository.move(category, newParent);
+    }
+
+    private Category findCategory(Long categoryId) {
+        Category category = categoryRepository.findOne(categoryId);
+        if (category == null) {
+            throw new IllegalArgumentException("존재하지 않는 카테고리 입니다. id=" + categoryId);
+        }
+        return category;
+    }
+
+    /* 경로 컬럼이 생기기 전 데이터처럼 경로가 없으면 접두어 조회가 "null%" 이 되므로 거부 */
+    private static String pathOf(Category category) {
+        if (category.getPath() == null) {
+            throw new IllegalStateException("경로가 없는 카테고리 입니다. id=" + category.getId());
+        }
+        return category.getPath();
+    }
+}
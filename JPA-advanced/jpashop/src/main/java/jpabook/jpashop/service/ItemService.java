@@ -2,6 +2,8 @@ package jpabook.jpashop.service;
 
 import jpabook.jpashop.domain.Item.Item;
 import jpabook.jpashop.repository.ItemRepository;
+import jpabook.jpashop.repository.item.query.ItemQueryDto;
+import jpabook.jpashop.repository.item.query.ItemQueryRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -14,11 +16,14 @@ import java.util.List;
 public class ItemService {
 
     private final ItemRepository itemRepository;
+    private final ItemQueryRepository itemQueryRepository;
+    private final OrderFormCatalog orderFormCatalog;
 
     /* 상품 저장 */
     @Transactional
     public void saveItem(Item item) {
         itemRepository.save(item);
+        orderFormCatalog.itemsChanged(List.of(item.getId()));
     }
 
     /* 상품 목록 조회 */
@@ -26,18 +31,34 @@ public class ItemService {
         return itemRepository.findAll();
     }
 
+    /* 상품 목록 조회 - 카테고리 포함, 페이징 */
+    public List<ItemQueryDto> findItemsWithCategories(int offset, int limit) {
+        return itemQueryRepository.findItems(offset, limit);
+    }
+
     /* 상품 단일 조회 */
     public Item findOne(Long itemId) {
         return itemRepository.findOne(itemId);
     }
 
-    /* 상품 수정 */
+    /**
+     * 상품 수정
+     * - 재고는 읽은 값과의 차이만큼 UPDATE 로 더하거나 뺀다. 그 사이 커밋된 주문의 차감은 그대로 남고,
+     *   빼야 할 만큼 재고가 남아 있지 않으면 NotEnoughStockException
+     * - 재고 UPDATE 가 행을 잠그고 최신 재고를 다시 읽은 뒤에 이름 / 가격을 바꾸므로, 커밋 시 UPDATE 에는 최신 재고가 쓰인다.
+     */
     @Transactional
     public void updateItem(Long itemId, String name, int price, int stockQuantity) {
         Item findItem = itemRepository.findOne(itemId);
+        int stockDelta = stockQuantity - findItem.getStockQuantity();
 
+        if (stockDelta < 0) {
+            itemRepository.removeStock(findItem, -stockDelta);
+        } else {
+            itemRepository.addStock(findItem, stockDelta);
+        }
         findItem.setName(name);
         findItem.setPrice(price);
-        findItem.setStockQuantity(stockQuantity);
+        orderFormCatalog.itemsChanged(List.of(itemId));
     }
 }
@@ -0,0 +1,117 @@
+package jpabook.jpashop.service;
+
+import jpabook.jpashop.repository.MemberRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 회원 이름 블룸 필터
+ * - mightContain 이 false 면 그 이름은 확실히 없으므로 중복 확인 쿼리를 생략한다.
+ * - true 는 "있을 수도 있음" (오탐) 이므로 DB 로 다시 확인한다.
+ * - 비트는 켜기만 하므로 시작 시 재구성과 가입이 동시에 일어나도 이름을 놓치지 않는다.
+ * - 재구성이 끝나기 전에는 항상 true (모두 DB 확인)
+ */
+@Slf4j
+@Component
+public class MemberNameFilter {
+
+    private static final int FETCH_SIZE = 1000;
+
+    private final MemberRepository memberRepository;
+    private final TransactionTemplate readOnlyTx;
+
+    private final AtomicLongArray bits;
+    private final long bitSize;
+    private final int hashCount;
+
+    private volatile boolean ready;
+
+    public MemberNameFilter(MemberRepository memberRepository,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${jpashop.member.name-filter.bits:16777216}") long bitSize,
+                            @Value("${jpashop.member.name-filter.hashes:5}") int hashCount) {
+        this.memberRepository = memberRepository;
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+        this.bits = new AtomicLongArray((int) ((bitSize + 63) / 64));
+        this.bitSize = bits.length() * 64L;
+        this.hashCount = hashCount;
+    }
+
+    /* 시작 시 모든 회원 이름으로 재구성 */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        long[] count = {0};
+        readOnlyTx.executeWithoutResult(status -> memberRepository.forEachName(FETCH_SIZE, name -> {
+            put(name);
+            count[0]++;
+        }));
+        ready = true;
+        log.info("회원 이름 필터 재구성 완료. members={}, {}ms", count[0], System.currentTimeMillis() - start);
+    }
+
+    public void put(String name) {
+        if (name == null) {
+            return;
+        }
+        long hash = hash(name);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Integer.toUnsignedLong(h1 + i * h2) % bitSize;
+            setBit(bit);
+        }
+    }
+
+    public boolean mightContain(String name) {
+        if (name == null) {
+            return false;
+        }
+        if (!ready) {
+            return true;
+        }
+        long hash = hash(name);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Integer.toUnsignedLong(h1 + i * h2) % bitSize;
+            if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void setBit(long bit) {
+        int index = (int) (bit >>> 6);
+        long mask = 1L << bit;
+        long current;
+        while (((current = bits.get(index)) & mask) == 0) {
+            if (bits.compareAndSet(index, current, current | mask)) {
+                return;
+            }
+        }
+    }
+
+    /* 64bit FNV-1a 후 섞기 - 두 개의 32bit 해시로 나눠서 사용 (double hashing) */
+    private static long hash(String name) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : name.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b;
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
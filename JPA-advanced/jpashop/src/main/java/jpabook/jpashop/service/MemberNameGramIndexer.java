@@ -0,0 +1,55 @@
+package jpabook.jpashop.service;
+
+import jpabook.jpashop.repository.MemberNameGramRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * 회원 이름 3-gram 색인 채우기
+ * - 회원 가입 / 이름 변경은 MemberService 가 같은 트랜잭션에서 색인을 갱신한다.
+ * - InitDb, DataSeeder 처럼 서비스를 거치지 않고 들어온 회원은 시작 시 색인이 없는 회원만 골라서 채운다.
+ * - 배치마다 트랜잭션을 나누고, 배치 안 회원들의 gram 은 JDBC 배치 한 번으로 넣는다.
+ * - 이름이 3글자 미만인 회원은 gram 이 없으므로 매번 다시 확인된다. (색인 대상 아님)
+ */
+@Slf4j
+@Component
+public class MemberNameGramIndexer {
+
+    private static final int BATCH_SIZE = 1000;
+
+    private final MemberNameGramRepository memberNameGramRepository;
+    private final TransactionTemplate tx;
+
+    public MemberNameGramIndexer(MemberNameGramRepository memberNameGramRepository,
+                                 PlatformTransactionManager transactionManager) {
+        this.memberNameGramRepository = memberNameGramRepository;
+        this.tx = new TransactionTemplate(transactionManager);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reindex() {
+        long start = System.currentTimeMillis();
+        long lastMemberId = 0L;
+        int indexed = 0;
+        while (true) {
+            long after = lastMemberId;
+            List<Object[]> members = tx.execute(status -> {
+                List<Object[]> batch = memberNameGramRepository.findUnindexedMembers(after, BATCH_SIZE);
+                memberNameGramRepository.index(batch);
+                return batch;
+            });
+            indexed += members.size();
+            if (members.size() < BATCH_SIZE) {
+                break;
+            }
+            lastMemberId = (Long) members.get(members.size() - 1)[0];
+        }
+        log.info("회원 이름 색인 완료. members={}, {}ms", indexed, System.currentTimeMillis() - start);
+    }
+}
@@ -0,0 +1,108 @@
+package jpabook.jpashop.service;
+
+import jpabook.jpashop.repository.member.query.MemberQueryDto;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * 회원 이름 접두어 검색 인덱스 (메모리)
+ * - "소문자 이름 + \0 + id" 를 키로 정렬해 두고, 접두어 이후부터 limit 개만 읽는다. O(log n + limit)
+ * - 읽기는 락 없이 DB 도 조회하지 않는다. 쓰기(반영)는 OrderFormCatalog 가 커밋 후에 한 스레드씩 호출
+ * - 이름을 바꾸는 중에는 잠깐 이전 이름과 새 이름으로 모두 검색될 수 있지만, 어느 이름으로도 검색되지 않는 순간은 없다.
+ */
+@Component
+public class MemberNameIndex {
+
+    public static final int MAX_LIMIT = 50;
+
+    private final ConcurrentSkipListMap<String, MemberQueryDto> byName = new ConcurrentSkipListMap<>();
+    private final Map<Long, String> keyById = new ConcurrentHashMap<>();
+
+    /**
+     * 이름이 prefix 로 시작하는 회원 (대소문자 구분 X, 이름 순서)
+     */
+    public List<MemberQueryDto> search(String prefix, int limit) {
+        if (prefix == null || prefix.isBlank()) {
+            return List.of();
+        }
+        String normalized = normalize(prefix);
+        int max = Math.min(Math.max(limit, 1), MAX_LIMIT);
+
+        List<MemberQueryDto> result = new ArrayList<>(Math.min(max, 16));
+        for (Map.Entry<String, MemberQueryDto> entry : byName.tailMap(normalized).entrySet()) {
+            if (!entry.getKey().startsWith(normalized) || result.size() == max) {
+                break;
+            }
+            result.add(entry.getValue());
+        }
+        return result;
+    }
+
+    public int size() {
+        return keyById.size();
+    }
+
+    /* 전체 다시 구성 - 목록에 없는 회원은 뺀다. */
+    synchronized void rebuild(List<MemberQueryDto> members) {
+        Set<Long> ids = new HashSet<>(members.size() * 4 / 3 + 1);
+        for (MemberQueryDto member : members) {
+            ids.add(member.getId());
+            put(member);
+        }
+        for (Long id : List.copyOf(keyById.keySet())) {
+            if (!ids.contains(id)) {
+                remove(id);
+            }
+        }
+    }
+
+    /**
+     * 바뀐 회원만 교체 - changedIds 중 members 에 없는 id 는 삭제된 것으로 본다.
+     * - 남아 있는 회원은 put 이 새 키를 넣은 뒤 이전 키를 지우므로, 교체 중에도 검색에서 빠지지 않는다.
+     */
+    synchronized void replace(Collection<Long> changedIds, List<MemberQueryDto> members) {
+        Set<Long> existing = new HashSet<>(members.size() * 4 / 3 + 1);
+        for (MemberQueryDto member : members) {
+            existing.add(member.getId());
+            put(member);
+        }
+        for (Long id : changedIds) {
+            if (!existing.contains(id)) {
+                remove(id);
+            }
+        }
+    }
+
+    private void put(MemberQueryDto member) {
+        if (member.getName() == null) {
+            remove(member.getId());
+            return;
+        }
+        String key = normalize(member.getName()) + '\0' + member.getId();
+        byName.put(key, new MemberQueryDto(member.getId(), member.getName()));   // 인덱스 밖에서 바꿀 수 없도록 복사
+        String oldKey = keyById.put(member.getId(), key);
+        if (oldKey != null && !oldKey.equals(key)) {
+            byName.remove(oldKey);
+        }
+    }
+
+    private void remove(Long id) {
+        String oldKey = keyById.remove(id);
+        if (oldKey != null) {
+            byName.remove(oldKey);
+        }
+    }
+
+    private static String normalize(String name) {
+        return name.strip().toLowerCase(Locale.ROOT);
+    }
+}
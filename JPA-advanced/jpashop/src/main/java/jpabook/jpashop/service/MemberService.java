@@ -1,8 +1,12 @@
 package jpabook.jpashop.service;
 
 import jpabook.jpashop.domain.Member;
+import jpabook.jpashop.repository.MemberNameGramRepository;
 import jpabook.jpashop.repository.MemberRepository;
+import jpabook.jpashop.repository.member.query.MemberQueryDto;
+import jpabook.jpashop.repository.member.query.MemberQueryRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -14,19 +18,43 @@ import java.util.List;
 public class MemberService {
 
     private final MemberRepository memberRepository;
+    private final MemberQueryRepository memberQueryRepository;
+    private final MemberNameGramRepository memberNameGramRepository;
+    private final MemberNameFilter memberNameFilter;
+    private final MemberTableVersion memberTableVersion;
+    private final OrderFormCatalog orderFormCatalog;
 
-    /* 회원가입 */
+    /**
+     * 회원가입
+     * - 중복 이름은 uk_member_name 유니크 제약으로 막는다. (동시 가입도 안전)
+     * - 제약 위반을 가입 시점에 확인하려고 바로 flush 한다.
+     */
     @Transactional
     public Long join(Member member) {
-        validateDuplicateMember(member);
-        memberRepository.save(member);
+        validateDuplicateMember(member.getName());
+        try {
+            memberRepository.save(member);
+            memberRepository.flush();
+        } catch (DataIntegrityViolationException e) {
+            throw new IllegalStateException("이미 존재하는 회원입니다.", e);
+        }
+        memberNameGramRepository.replace(member.getId(), member.getName());
+        memberNameFilter.put(member.getName());
+        memberTableVersion.increment();
+        orderFormCatalog.memberChanged(member.getId());
         return member.getId();
     }
 
-    /* 종복 회원 조회 */
-    private void validateDuplicateMember(Member member) {
-        List<Member> findMembers = memberRepository.findByName(member.getName());
-        if( !findMembers.isEmpty() ) {
+    /**
+     * 종복 회원 조회
+     * - 블룸 필터에 없는 이름은 DB 조회 없이 통과 (대부분의 가입)
+     * - 필터에 있을 수도 있는 이름만 인덱스로 한 건 확인
+     */
+    private void validateDuplicateMember(String name) {
+        if (!memberNameFilter.mightContain(name)) {
+            return;
+        }
+        if (memberRepository.existsByName(name)) {
             throw new IllegalStateException("이미 존재하는 회원입니다.");
         }
     }
@@ -35,7 +63,21 @@ public class MemberService {
     @Transactional
     public void update(Long id, String name) {
         Member findMember = memberRepository.findOne(id);
-        findMember.setName(name);
+        if (name != null && name.equals(findMember.getName())) {
+            return;
+        }
+
+        validateDuplicateMember(name);
+        try {
+            findMember.setName(name);
+            memberRepository.flush();
+        } catch (DataIntegrityViolationException e) {
+            throw new IllegalStateException("이미 존재하는 회원입니다.", e);
+        }
+        memberNameGramRepository.replace(id, name);
+        memberNameFilter.put(name);
+        memberTableVersion.increment();
+        orderFormCatalog.memberChanged(id);
     }
 
 
@@ -44,6 +86,16 @@ public class MemberService {
         return memberRepository.findAll();
     }
 
+    /* 회원 목록 조회 - id, 이름만 (offset 페이징) */
+    public List<MemberQueryDto> findMemberPage(int page, int size) {
+        return memberQueryRepository.findMembers(page * size, size);
+    }
+
+    /* 회원 목록 조회 - id, 이름만 (키셋 페이징) */
+    public List<MemberQueryDto> findMemberPageAfter(Long lastMemberId, int size) {
+        return memberQueryRepository.findMembersAfter(lastMemberId, size);
+    }
+
     /* 회원 1명 조회 */
     public Member findOne(Long memberId) {
         return memberRepository.findOne(memberId);
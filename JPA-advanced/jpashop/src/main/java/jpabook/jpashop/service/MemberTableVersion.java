@@ -0,0 +1,27 @@
+package jpabook.jpashop.service;
+
+import jpabook.jpashop.repository.TableVersionRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * 회원 테이블 버전
+ * - table_version 의 member 행. 회원 목록 API 의 ETag 로 사용
+ * - 회원을 쓰는 트랜잭션 안에서 증가하므로 롤백되면 그대로이고, 서버가 여러 대여도 같은 값을 본다.
+ * - 회원 쓰기는 MemberService 를 거치고, 엔티티를 거치지 않는 대량 쓰기(DataSeeder, InitDb)도 직접 증가시킨다.
+ */
+@Component
+@RequiredArgsConstructor
+public class MemberTableVersion {
+
+    private final TableVersionRepository tableVersionRepository;
+
+    public long current() {
+        return tableVersionRepository.find(TableVersionRepository.MEMBER);
+    }
+
+    /* 회원 쓰기 트랜잭션에서 호출 - 커밋 / 롤백을 같이 한다. */
+    public void increment() {
+        tableVersionRepository.increment(TableVersionRepository.MEMBER);
+    }
+}
@@ -0,0 +1,52 @@
+package jpabook.jpashop.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import jpabook.jpashop.json.OrderJsonWriter;
+import jpabook.jpashop.repository.OrderRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class OrderExportService {
+
+    private static final int FETCH_SIZE = 1000;         // JDBC 에서 한번에 가져올 행 수
+    private static final int FLUSH_INTERVAL = 500;      // 응답을 내보낼 주문 간격
+
+    private final OrderRepository orderRepository;
+    private final OrderJsonWriter orderJsonWriter;
+
+    /**
+     * 주문 전체 내보내기 - 한 줄에 주문 하나(NDJSON)
+     * - 주문마다 byte[] 를 만들지 않고 하나의 JsonGenerator 로 응답 스트림에 바로 쓴다.
+     */
+    public long exportOrders(OutputStream out) throws IOException {
+        AtomicLong exported = new AtomicLong();
+
+        try (JsonGenerator generator = orderJsonWriter.createGenerator(out)) {
+            orderRepository.streamAllByDto(FETCH_SIZE, orderQueryDto -> {
+                try {
+                    orderJsonWriter.write(generator, orderQueryDto);
+                    generator.writeRaw('\n');
+                    if (exported.incrementAndGet() % FLUSH_INTERVAL == 0) {
+                        generator.flush();
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            generator.flush();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        return exported.get();
+    }
+}
@@ -0,0 +1,216 @@
+package jpabook.jpashop.service;
+
+import jakarta.annotation.PreDestroy;
+import jpabook.jpashop.repository.item.query.ItemQueryRepository;
+import jpabook.jpashop.repository.member.query.MemberQueryRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 주문 폼 카탈로그
+ * - 주문 폼은 current() 스냅샷과 MemberNameIndex 만 읽으므로 화면을 열거나 회원을 검색할 때 DB 를 조회하지 않는다.
+ * - 시작 시 전체를 한 번 읽고, 이후에는 커밋된 트랜잭션에서 바뀐 상품 / 회원 id 만 다시 읽어서
+ *   상품은 새 스냅샷으로 교체, 회원은 이름 인덱스에 반영한다.
+ * - 다시 읽기는 전용 스레드 하나가 한다. 커밋한 스레드는 id 만 넘기고 바로 돌아가므로 커넥션을 더 잡지 않고,
+ *   밀린 id 는 한 번에 모아서 읽는다. 그래서 스냅샷은 커밋 직후가 아니라 조금 뒤에 바뀐다.
+ * - 상품 / 회원 쓰기는 ItemService, MemberService, OrderService 를 거쳐야 반영된다. (InitDb, DataSeeder 는 시작 전이라 전체 읽기에 포함)
+ */
+@Slf4j
+@Component
+public class OrderFormCatalog {
+
+    private static final long RETRY_DELAY_MILLIS = 1000;
+
+    private final ItemQueryRepository itemQueryRepository;
+    private final MemberQueryRepository memberQueryRepository;
+    private final MemberNameIndex memberNameIndex;
+    private final TransactionTemplate refreshTx;
+
+    /* 스냅샷 / 이름 인덱스는 이 스레드에서만 바꾼다. */
+    private final ScheduledExecutorService refresher;
+    private final Set<Long> pendingItemIds = ConcurrentHashMap.newKeySet();
+    private final Set<Long> pendingMemberIds = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean refreshScheduled = new AtomicBoolean();
+
+    private volatile CatalogSnapshot snapshot = CatalogSnapshot.EMPTY;
+
+    public OrderFormCatalog(ItemQueryRepository itemQueryRepository,
+                            MemberQueryRepository memberQueryRepository,
+                            MemberNameIndex memberNameIndex,
+                            PlatformTransactionManager transactionManager) {
+        this.itemQueryRepository = itemQueryRepository;
+        this.memberQueryRepository = memberQueryRepository;
+        this.memberNameIndex = memberNameIndex;
+        // 레플리카 지연을 피하려고 readOnly 없이 primary 에서 읽는다.
+        this.refreshTx = new TransactionTemplate(transactionManager);
+        this.refresher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "order-form-catalog");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public CatalogSnapshot current() {
+        return snapshot;
+    }
+
+    /* 시작 시 전체 읽기 */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        await(() -> refreshTx.executeWithoutResult(status -> {
+            snapshot = CatalogSnapshot.of(snapshot.getVersion() + 1, itemQueryRepository.findItemOptions());
+            memberNameIndex.rebuild(memberQueryRepository.findAllMembers());
+        }));
+        log.info("주문 폼 카탈로그 구성 완료. items={}, members={}, {}ms",
+                snapshot.getItemList().size(), memberNameIndex.size(), System.currentTimeMillis() - start);
+    }
+
+    /* 상품 변경 - 커밋 후 반영 */
+    public void itemsChanged(Collection<Long> itemIds) {
+        PendingChanges changes = pendingChanges();
+        changes.itemIds.addAll(itemIds);
+        enqueueIfNoTransaction(changes);
+    }
+
+    /* 회원 변경 - 커밋 후 반영 */
+    public void memberChanged(Long memberId) {
+        PendingChanges changes = pendingChanges();
+        changes.memberIds.add(memberId);
+        enqueueIfNoTransaction(changes);
+    }
+
+    /* 지금까지 넘어온 변경이 반영될 때까지 대기 (테스트용) */
+    public void awaitRefresh() {
+        await(() -> { });
+    }
+
+    /**
+     * 트랜잭션마다 바뀐 id 를 모아두고 커밋되면 갱신 스레드에 넘긴다.
+     * - 롤백되면 버린다.
+     */
+    private PendingChanges pendingChanges() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return new PendingChanges();
+        }
+        PendingChanges pending = (PendingChanges) TransactionSynchronizationManager.getResource(this);
+        if (pending != null) {
+            return pending;
+        }
+
+        PendingChanges created = new PendingChanges();
+        TransactionSynchronizationManager.bindResource(this, created);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(OrderFormCatalog.this);
+                if (status == STATUS_COMMITTED) {
+                    enqueue(created);
+                }
+            }
+        });
+        return created;
+    }
+
+    /* 트랜잭션 밖 호출은 바로 넘긴다 */
+    private void enqueueIfNoTransaction(PendingChanges changes) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            enqueue(changes);
+        }
+    }
+
+    /* 이미 예약된 갱신이 있으면 그 갱신이 같이 읽는다. */
+    private void enqueue(PendingChanges changes) {
+        if (changes.isEmpty()) {
+            return;
+        }
+        pendingItemIds.addAll(changes.itemIds);
+        pendingMemberIds.addAll(changes.memberIds);
+        if (refreshScheduled.compareAndSet(false, true)) {
+            refresher.execute(this::refresh);
+        }
+    }
+
+    /**
+     * 밀린 id 다시 읽기 (갱신 스레드)
+     * - 예약 표시를 먼저 내리고 id 를 꺼내므로, 그 사이에 들어온 id 는 이번에 읽히거나 다음 갱신이 예약된다.
+     * - 한 스레드에서 차례로 읽고 교체하므로 나중에 읽은 값(최신 커밋)이 남는다.
+     * - 실패하면 id 를 되돌려 놓고 잠시 뒤 다시 읽는다. 이미 커밋된 트랜잭션이므로 호출자에게는 알리지 않는다.
+     */
+    private void refresh() {
+        refreshScheduled.set(false);
+        Set<Long> itemIds = drain(pendingItemIds);
+        Set<Long> memberIds = drain(pendingMemberIds);
+        if (itemIds.isEmpty() && memberIds.isEmpty()) {
+            return;
+        }
+        try {
+            refreshTx.executeWithoutResult(status -> {
+                if (!itemIds.isEmpty()) {
+                    snapshot = snapshot.apply(itemIds, itemQueryRepository.findItemOptions(itemIds));
+                }
+                if (!memberIds.isEmpty()) {
+                    memberNameIndex.replace(memberIds, memberQueryRepository.findMembersByIds(memberIds));
+                }
+            });
+        } catch (RuntimeException e) {
+            log.warn("주문 폼 카탈로그 갱신 실패, {}ms 후 다시 읽음. items={}, members={}", RETRY_DELAY_MILLIS, itemIds, memberIds, e);
+            pendingItemIds.addAll(itemIds);
+            pendingMemberIds.addAll(memberIds);
+            if (refreshScheduled.compareAndSet(false, true) && !refresher.isShutdown()) {
+                refresher.schedule(this::refresh, RETRY_DELAY_MILLIS, TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    private static Set<Long> drain(Set<Long> pending) {
+        Set<Long> drained = new TreeSet<>();
+        for (Iterator<Long> it = pending.iterator(); it.hasNext(); ) {
+            drained.add(it.next());
+            it.remove();
+        }
+        return drained;
+    }
+
+    private void await(Runnable task) {
+        try {
+            refresher.submit(task).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("주문 폼 카탈로그 대기 중 인터럽트", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("주문 폼 카탈로그 갱신 실패", e.getCause());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refresher.shutdown();
+    }
+
+    private static class PendingChanges {
+        private final Set<Long> itemIds = new TreeSet<>();
+        private final Set<Long> memberIds = new TreeSet<>();
+
+        private boolean isEmpty() {
+            return itemIds.isEmpty() && memberIds.isEmpty();
+        }
+    }
+}
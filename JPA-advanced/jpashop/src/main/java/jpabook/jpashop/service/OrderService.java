@@ -2,14 +2,19 @@ package jpabook.jpashop.service;
 
 import jpabook.jpashop.domain.*;
 import jpabook.jpashop.domain.Item.Item;
+import jpabook.jpashop.dto.CartLine;
 import jpabook.jpashop.repository.ItemRepository;
 import jpabook.jpashop.repository.MemberRepository;
+import jpabook.jpashop.repository.OrderOutboxRepository;
 import jpabook.jpashop.repository.OrderRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -19,6 +24,8 @@ public class OrderService {
     private final OrderRepository orderRepository;
     private final MemberRepository memberRepository;
     private final ItemRepository itemRepository;
+    private final OrderOutboxRepository orderOutboxRepository;
+    private final OrderFormCatalog orderFormCatalog;
     
     /* 주문 생성 */
     @Transactional
@@ -31,11 +38,67 @@ public class OrderService {
         delivery.setStatus(DeliveryStatus.READY);
         delivery.setAddress(findMember.getAddress());
 
-        OrderItem orderItem = OrderItem.createOrderItem(findItem, findItem.getPrice(), count);
+        // 재고 차감은 조건부 UPDATE 로 원자적으로 처리 (동시 주문에도 초과 판매 X)
+        itemRepository.removeStock(findItem, count);
+        OrderItem orderItem = OrderItem.createReservedOrderItem(findItem, findItem.getPrice(), count);
 
         Order order = Order.createOrder(findMember, delivery, orderItem);
 
         orderRepository.save(order);
+        orderOutboxRepository.save(order.getId(), OrderEventType.ORDERED);
+        orderFormCatalog.itemsChanged(List.of(itemId));
+
+        return order.getId();
+    }
+
+
+    /**
+     * 장바구니 주문 - 여러 상품을 주문 하나로 묶어서 한 트랜잭션에 처리
+     * - 상품은 IN 쿼리 한 번으로 조회
+     * - 재고는 JDBC 배치 한 번으로 차감
+     * - 주문, 배송, 주문 상품은 커밋 시점 flush 한 번으로 저장
+     */
+    @Transactional
+    public Long checkout(Long memberId, List<CartLine> cartLines) {
+        if (cartLines == null || cartLines.isEmpty()) {
+            throw new IllegalArgumentException("주문할 상품이 없습니다.");
+        }
+
+        // 같은 상품이 여러 줄이면 수량을 합친다.
+        Map<Long, Integer> quantities = new TreeMap<>();
+        for (CartLine cartLine : cartLines) {
+            if (cartLine.getItemId() == null) {
+                throw new IllegalArgumentException("상품 id 는 필수 입니다.");
+            }
+            if (cartLine.getCount() < 1) {
+                throw new IllegalArgumentException("주문 수량은 1개 이상이어야 합니다.");
+            }
+            quantities.merge(cartLine.getItemId(), cartLine.getCount(), Integer::sum);
+        }
+
+        Member findMember = memberRepository.findOne(memberId);
+        List<Item> findItems = itemRepository.findAllByIds(quantities.keySet());
+        if (findItems.size() != quantities.size()) {
+            throw new IllegalArgumentException("존재하지 않는 상품이 있습니다.");
+        }
+
+        itemRepository.removeStocks(findItems, quantities);
+
+        OrderItem[] orderItems = new OrderItem[findItems.size()];
+        for (int i = 0; i < findItems.size(); i++) {
+            Item item = findItems.get(i);
+            orderItems[i] = OrderItem.createReservedOrderItem(item, item.getPrice(), quantities.get(item.getId()));
+        }
+
+        Delivery delivery = new Delivery();
+        delivery.setStatus(DeliveryStatus.READY);
+        delivery.setAddress(findMember.getAddress());
+
+        Order order = Order.createOrder(findMember, delivery, orderItems);
+
+        orderRepository.save(order);
+        orderOutboxRepository.save(order.getId(), OrderEventType.ORDERED);
+        orderFormCatalog.itemsChanged(quantities.keySet());
 
         return order.getId();
     }
@@ -46,10 +109,41 @@ public class OrderService {
     public void cancel(Long itemId) {
         Order findOrder = orderRepository.findOne(itemId);
         findOrder.cancel();
+        for (OrderItem orderItem : findOrder.getOrderItems()) {
+            itemRepository.addStock(orderItem.getItem(), orderItem.getCount());
+        }
+        orderOutboxRepository.save(findOrder.getId(), OrderEventType.CANCELED);
+        orderFormCatalog.itemsChanged(findOrder.getOrderItems().stream()
+                .map(orderItem -> orderItem.getItem().getId())
+                .collect(Collectors.toList()));
     }
     
+    /**
+     * 주문 일괄 취소 (회원, 주문 기간 조건)
+     * - 배송 완료된 주문은 SQL 조건으로 제외
+     * - 엔티티를 하나씩 읽지 않고 상품별 재고 복구 / 주문 상태 변경을 UPDATE 몇 번으로 처리
+     * - 실행 후 영속성 컨텍스트를 비우므로 이전에 조회한 엔티티는 다시 조회해야 한다.
+     */
+    @Transactional
+    public int cancelAll(OrderCancelCondition condition) {
+        if (!condition.hasCondition()) {
+            throw new IllegalArgumentException("취소 조건이 없습니다.");
+        }
+
+        List<Long> orderIds = orderRepository.findCancelableIdsForUpdate(condition);
+        if (orderIds.isEmpty()) {
+            return 0;
+        }
+
+        List<Long> itemIds = orderRepository.findItemIds(orderIds);
+        orderRepository.cancelAll(orderIds);
+        orderOutboxRepository.saveAll(orderIds, OrderEventType.CANCELED);
+        orderFormCatalog.itemsChanged(itemIds);
+        return orderIds.size();
+    }
+
     /* 특정 주문 검색 */
     public List<Order> findOrders(OrderSearch orderSearch) {
-        return orderRepository.findAllByString(orderSearch);
+        return orderRepository.findAllBySearch(orderSearch);
     }
 }
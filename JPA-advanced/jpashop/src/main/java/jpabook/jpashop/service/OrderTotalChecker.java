@@ -0,0 +1,36 @@
+package jpabook.jpashop.service;
+
+import jpabook.jpashop.repository.OrderRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * 주문 총액 정합성 검사
+ * - Order 에 저장된 총액 / 주문 상품 줄 수를 order_item 합계와 비교해서 어긋난 주문을 다시 계산한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OrderTotalChecker {
+
+    private final OrderRepository orderRepository;
+
+    @Scheduled(cron = "${jpashop.order.total-check-cron:0 0 4 * * *}")
+    @Transactional
+    public int check() {
+        List<Long> mismatchedIds = orderRepository.findTotalMismatchedIds();
+        if (mismatchedIds.isEmpty()) {
+            return 0;
+        }
+
+        log.warn("주문 총액 불일치 {}건, 다시 계산합니다. orderIds={}", mismatchedIds.size(),
+                mismatchedIds.subList(0, Math.min(mismatchedIds.size(), 100)));
+        orderRepository.recalculateTotals(mismatchedIds);
+        return mismatchedIds.size();
+    }
+}
@@ -0,0 +1,121 @@
+-- jpashop 초기 스키마
+-- - 엔티티 매핑(ddl-auto: create 가 만들던 스키마)과 같은 테이블 / 컬럼 / 시퀀스 + 조회에 필요한 인덱스와 제약조건
+-- - 시작 시 ddl-auto: validate 로 엔티티와 맞는지 확인한다. 스키마 변경은 V2__ 부터 새 파일로 추가 (이 파일은 수정 X)
+
+-- 시퀀스 (allocationSize = 50 과 같은 increment)
+create sequence category_seq start with 1 increment by 50;
+create sequence delivery_seq start with 1 increment by 50;
+create sequence item_seq start with 1 increment by 50;
+create sequence member_seq start with 1 increment by 50;
+create sequence order_item_seq start with 1 increment by 50;
+create sequence order_outbox_seq start with 1 increment by 50;
+create sequence orders_seq start with 1 increment by 50;
+
+-- 테이블
+create table member (
+    member_id bigint not null,
+    name varchar(255),
+    city varchar(255),
+    street varchar(255),
+    zipcode varchar(255),
+    constraint pk_member primary key (member_id),
+    constraint uk_member_name unique (name)
+);
+
+create table member_name_gram (
+    gram varchar(3) not null,
+    member_id bigint not null,
+    constraint pk_member_name_gram primary key (gram, member_id)
+);
+
+create table delivery (
+    delivery_id bigint not null,
+    city varchar(255),
+    street varchar(255),
+    zipcode varchar(255),
+    status varchar(255),
+    constraint pk_delivery primary key (delivery_id)
+);
+
+create table item (
+    dtype varchar(31) not null,
+    item_id bigint not null,
+    name varchar(255),
+    price integer not null,
+    stock_quantity integer not null,
+    artist varchar(255),
+    etc varchar(255),
+    author varchar(255),
+    isbn varchar(255),
+    actor varchar(255),
+    director varchar(255),
+    constraint pk_item primary key (item_id)
+);
+
+create table category (
+    category_id bigint not null,
+    name varchar(255),
+    path varchar(1000),
+    parent_id bigint,
+    constraint pk_category primary key (category_id)
+);
+
+create table category_item (
+    category_id bigint not null,
+    item_id bigint not null,
+    constraint pk_category_item primary key (category_id, item_id)
+);
+
+create table orders (
+    order_id bigint not null,
+    member_id bigint,
+    delivery_id bigint,
+    order_date timestamp(6),
+    status varchar(255),
+    total_price integer not null,
+    order_item_count integer not null,
+    constraint pk_orders primary key (order_id),
+    constraint uk_orders_delivery unique (delivery_id)
+);
+
+create table order_item (
+    order_item_id bigint not null,
+    order_id bigint,
+    item_id bigint,
+    order_price integer not null,
+    count integer not null,
+    constraint pk_order_item primary key (order_item_id)
+);
+
+create table order_outbox (
+    order_outbox_id bigint not null,
+    order_id bigint,
+    event_type varchar(255),
+    created_at timestamp(6),
+    published_at timestamp(6),
+    constraint pk_order_outbox primary key (order_outbox_id)
+);
+
+-- 인덱스 (엔티티 @Table(indexes) 와 같은 이름)
+create index idx_member_name_gram_member on member_name_gram (member_id);
+create index idx_item_dtype on item (dtype);
+create index idx_category_path on category (path);
+create index idx_category_parent on category (parent_id);
+create index idx_category_item_item on category_item (item_id);
+create index idx_orders_member on orders (member_id);
+create index idx_orders_status_order_date on orders (status, order_date);
+create index idx_orders_order_date_id on orders (order_date, order_id);
+create index idx_orders_total_price on orders (total_price);
+create index idx_order_item_order on order_item (order_id);
+create index idx_order_item_item on order_item (item_id);
+create index idx_order_outbox_published_at on order_outbox (published_at, order_outbox_id);
+
+-- 외래 키 (위 인덱스를 그대로 사용)
+alter table category add constraint fk_category_parent foreign key (parent_id) references category (category_id);
+alter table category_item add constraint fk_category_item_category foreign key (category_id) references category (category_id);
+alter table category_item add constraint fk_category_item_item foreign key (item_id) references item (item_id);
+alter table member_name_gram add constraint fk_member_name_gram_member foreign key (member_id) references member (member_id);
+alter table orders add constraint fk_orders_member foreign key (member_id) references member (member_id);
+alter table orders add constraint fk_orders_delivery foreign key (delivery_id) references delivery (delivery_id);
+alter table order_item add constraint fk_order_item_order foreign key (order_id) references orders (order_id);
+alter table order_item add constraint fk_order_item_item foreign key (item_id) references item (item_id);
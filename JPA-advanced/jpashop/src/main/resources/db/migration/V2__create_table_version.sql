@@ -0,0 +1,11 @@
+-- 테이블 버전 (회원 목록 ETag - MemberTableVersion)
+-- - 회원을 쓰는 트랜잭션이 같은 트랜잭션에서 version 을 올리므로 롤백되면 같이 되돌아가고, 여러 서버가 같은 값을 본다.
+-- - 시작 값은 생성 시각(ms) 이라서 DB 를 새로 만들어도 이전 DB 에서 받은 ETag 와 겹치지 않는다.
+create table table_version (
+    table_name varchar(50) not null,
+    version bigint not null,
+    constraint pk_table_version primary key (table_name)
+);
+
+insert into table_version (table_name, version)
+values ('member', cast(extract(epoch from current_timestamp) * 1000 as bigint));
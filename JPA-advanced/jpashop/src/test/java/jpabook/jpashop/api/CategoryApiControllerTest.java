@@ -0,0 +1,71 @@
+package jpabook.jpashop.api;
+
+import jakarta.persistence.EntityManager;
+import jpabook.jpashop.domain.Category;
+import jpabook.jpashop.service.CategoryService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+class CategoryApiControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private CategoryService categoryService;
+    @Autowired
+    private EntityManager em;
+
+
+    @Test
+    @DisplayName("카테고리 트리 - 하위 카테고리를 깊이와 상관없이 묶는다")
+    void 카테고리_트리() throws Exception {
+        //given
+        Category root = createCategory("도서", null);
+        Category it = createCategory("IT", root);
+        createCategory("자바", it);
+        em.flush();
+
+        //when, then
+        mockMvc.perform(get("/api/categories/{id}/tree", root.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("도서"))
+                .andExpect(jsonPath("$.child[0].name").value("IT"))
+                .andExpect(jsonPath("$.child[0].child[0].name").value("자바"));
+    }
+
+    @Test
+    @DisplayName("경로가 없는 카테고리의 트리 / 상품 조회는 409")
+    void 경로_없는_카테고리() throws Exception {
+        //given - 경로 컬럼이 생기기 전 데이터
+        em.createNativeQuery("insert into category (category_id, name) values (-1, '경로 없음')")
+                .executeUpdate();
+
+        //when, then
+        mockMvc.perform(get("/api/categories/{id}/tree", -1))
+                .andExpect(status().isConflict());
+        mockMvc.perform(get("/api/categories/{id}/items", -1))
+                .andExpect(status().isConflict());
+    }
+
+
+    private Category createCategory(String name, Category parent) {
+        Category category = new Category();
+        category.setName(name);
+        if (parent != null) {
+            parent.setChildCategory(category);
+        }
+        categoryService.saveCategory(category);
+        return category;
+    }
+}
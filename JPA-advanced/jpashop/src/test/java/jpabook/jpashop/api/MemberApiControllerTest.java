@@ -0,0 +1,130 @@
+package jpabook.jpashop.api;
+
+import jpabook.jpashop.domain.Member;
+import jpabook.jpashop.monitoring.SqlStatementCountFilter;
+import jpabook.jpashop.repository.TableVersionRepository;
+import jpabook.jpashop.service.MemberService;
+import jpabook.jpashop.service.OrderFormCatalog;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/* ETag 는 커밋 후에 바뀌므로 트랜잭션 없이 실행 */
+@SpringBootTest
+@AutoConfigureMockMvc
+class MemberApiControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private MemberService memberService;
+    @Autowired
+    private OrderFormCatalog orderFormCatalog;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+
+    @Test
+    @DisplayName("회원 목록 ETag - 변경 없으면 304, 가입 후 200")
+    void 회원_목록_ETag() throws Exception {
+        //given
+        String etag = mockMvc.perform(get("/api/members").param("size", "10"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        //when, then
+        mockMvc.perform(get("/api/members").param("size", "10").header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+
+        Member member = new Member();
+        member.setName("ETag회원-" + System.nanoTime());
+        memberService.join(member);
+
+        mockMvc.perform(get("/api/members").param("size", "10").header("If-None-Match", etag))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("회원 목록 ETag - 롤백된 가입은 그대로, 다른 서버 / JDBC 쓰기가 올린 버전은 반영")
+    void 회원_목록_ETag_DB_버전() throws Exception {
+        //given
+        String name = "ETag중복-" + System.nanoTime();
+        join(name);
+        String etag = mockMvc.perform(get("/api/members").param("size", "10"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        //when - 중복 이름 가입은 롤백
+        assertThatThrownBy(() -> join(name)).isInstanceOf(IllegalStateException.class);
+
+        //then
+        mockMvc.perform(get("/api/members").param("size", "10").header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+
+        //when - 이 서버의 MemberService 를 거치지 않은 쓰기 (DataSeeder, 다른 서버)
+        jdbcTemplate.update(TableVersionRepository.INCREMENT_SQL, TableVersionRepository.MEMBER);
+
+        //then
+        mockMvc.perform(get("/api/members").param("size", "10").header("If-None-Match", etag))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("회원 목록 키셋 페이징")
+    void 회원_목록_키셋_페이징() throws Exception {
+        mockMvc.perform(get("/api/members").param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.count").value(1))
+                .andExpect(jsonPath("$.nextCursor").isNotEmpty());
+
+        mockMvc.perform(get("/api/members").param("cursor", String.valueOf(Long.MAX_VALUE)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.count").value(0))
+                .andExpect(jsonPath("$.nextCursor").isEmpty());
+    }
+
+    @Test
+    @DisplayName("회원 이름 접두어 검색 - 메모리 인덱스만 읽고 가입 / 수정이 반영된다")
+    void 회원_이름_검색() throws Exception {
+        //given
+        String prefix = "Search" + System.nanoTime();
+        Long alphaId = join(prefix + "-Alpha");
+        join(prefix + "-Beta");
+        join("x" + prefix);
+        orderFormCatalog.awaitRefresh();
+
+        //when, then
+        mockMvc.perform(get("/api/members/search").param("prefix", prefix.toLowerCase()))
+                .andExpect(status().isOk())
+                .andExpect(header().string(SqlStatementCountFilter.HEADER, "0"))
+                .andExpect(jsonPath("$.count").value(2))
+                .andExpect(jsonPath("$.data[0].id").value(alphaId))
+                .andExpect(jsonPath("$.data[1].name").value(prefix + "-Beta"));
+
+        mockMvc.perform(get("/api/members/search").param("prefix", prefix).param("limit", "1"))
+                .andExpect(jsonPath("$.count").value(1));
+
+        memberService.update(alphaId, "renamed-" + prefix);
+        orderFormCatalog.awaitRefresh();
+
+        mockMvc.perform(get("/api/members/search").param("prefix", prefix))
+                .andExpect(jsonPath("$.count").value(1))
+                .andExpect(jsonPath("$.data[0].name").value(prefix + "-Beta"));
+        mockMvc.perform(get("/api/members/search").param("prefix", "renamed-" + prefix))
+                .andExpect(jsonPath("$.data[0].id").value(alphaId));
+    }
+
+    private Long join(String name) {
+        Member member = new Member();
+        member.setName(name);
+        return memberService.join(member);
+    }
+}
@@ -0,0 +1,154 @@
+package jpabook.jpashop.api;
+
+import com.jayway.jsonpath.JsonPath;
+import jpabook.jpashop.domain.Address;
+import jpabook.jpashop.domain.Item.Book;
+import jpabook.jpashop.domain.Member;
+import jpabook.jpashop.service.ItemService;
+import jpabook.jpashop.service.MemberService;
+import jpabook.jpashop.service.OrderService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/* 페이지 사이에 커밋된 데이터를 읽으므로 트랜잭션 없이 실행 */
+@SpringBootTest
+@AutoConfigureMockMvc
+class OrderApiControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private MemberService memberService;
+    @Autowired
+    private ItemService itemService;
+    @Autowired
+    private OrderService orderService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private LocalDateTime orderDate;
+    private final List<Long> orderIds = new ArrayList<>();
+    private Long memberId;
+    private Long itemId;
+
+    /* 주문 일시가 모두 같은 주문 3건 - 다른 주문보다 뒤에 오도록 가장 늦은 주문 일시 이후로 맞춘다. */
+    @BeforeEach
+    void setUp() {
+        Member member = new Member();
+        member.setName("커서회원-" + System.nanoTime());
+        member.setAddress(new Address("서울", "거리", "123-123"));
+        memberId = memberService.join(member);
+
+        Book book = new Book();
+        book.setName("커서 BOOK");
+        book.setPrice(10000);
+        book.setStockQuantity(10);
+        itemService.saveItem(book);
+        itemId = book.getId();
+
+        LocalDateTime lastOrderDate = jdbcTemplate.queryForObject("select max(order_date) from orders", LocalDateTime.class);
+        orderDate = (lastOrderDate == null ? LocalDateTime.now() : lastOrderDate).plusDays(1).withNano(0);
+        for (int i = 0; i < 3; i++) {
+            Long orderId = orderService.Order(memberId, book.getId(), 1);
+            jdbcTemplate.update("update orders set order_date = ? where order_id = ?", orderDate, orderId);
+            orderIds.add(orderId);
+        }
+    }
+
+
+    @Test
+    @DisplayName("키셋 페이징 - 주문 일시가 같아도 id 순서로 빠짐없이, 중복 없이")
+    void 같은_주문_일시_페이징() throws Exception {
+        //given - 같은 주문 일시 바로 앞에서 시작
+        String cursor = new OrderCursor(orderDate.minusNanos(1000), Long.MAX_VALUE).encode();
+
+        //when
+        String first = mockMvc.perform(get("/api/v3.2/orders").param("cursor", cursor).param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.count").value(2))
+                .andExpect(jsonPath("$.nextCursor").isNotEmpty())
+                .andReturn().getResponse().getContentAsString();
+        String nextCursor = JsonPath.read(first, "$.nextCursor");
+
+        String second = mockMvc.perform(get("/api/v3.2/orders").param("cursor", nextCursor).param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.count").value(1))
+                .andExpect(jsonPath("$.nextCursor").isEmpty())
+                .andReturn().getResponse().getContentAsString();
+
+        //then
+        List<Long> pagedIds = new ArrayList<>();
+        pagedIds.addAll(orderIds(first));
+        pagedIds.addAll(orderIds(second));
+        assertThat(pagedIds).containsExactlyElementsOf(orderIds);
+    }
+
+    @Test
+    @DisplayName("키셋 페이징 - limit 은 1 ~ 최대 크기로 맞춘다")
+    void limit_범위() throws Exception {
+        String cursor = new OrderCursor(orderDate.minusNanos(1000), Long.MAX_VALUE).encode();
+
+        mockMvc.perform(get("/api/v3.2/orders").param("cursor", cursor).param("limit", "0"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.count").value(1));
+        mockMvc.perform(get("/api/v3.2/orders").param("cursor", cursor).param("limit", "-5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.count").value(1));
+        mockMvc.perform(get("/api/v3.2/orders").param("cursor", cursor).param("limit", String.valueOf(Integer.MAX_VALUE)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.count").value(3));
+    }
+
+    @Test
+    @DisplayName("키셋 페이징 - 잘못된 커서는 400")
+    void 잘못된_커서() throws Exception {
+        mockMvc.perform(get("/api/v3.2/orders").param("cursor", "not-a-cursor!"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/v3.2/orders").param("cursor", "bm9waXBl"))     // "nopipe"
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("장바구니 주문 - 상품 id 가 없거나 수량이 1 미만이거나 줄이 없으면 400")
+    void 장바구니_주문_검증() throws Exception {
+        checkout("[{\"itemId\": null, \"count\": 1}]").andExpect(status().isBadRequest());
+        checkout("[{\"count\": 1}]").andExpect(status().isBadRequest());
+        checkout("[{\"itemId\": " + itemId + ", \"count\": 0}]").andExpect(status().isBadRequest());
+        checkout("[{\"itemId\": " + itemId + ", \"count\": -1}]").andExpect(status().isBadRequest());
+        checkout("[]").andExpect(status().isBadRequest());
+        checkout("[{\"itemId\": " + Long.MAX_VALUE + ", \"count\": 1}]").andExpect(status().isBadRequest());
+
+        checkout("[{\"itemId\": " + itemId + ", \"count\": 2}]")
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.orderId").isNumber());
+    }
+
+
+    private ResultActions checkout(String lines) throws Exception {
+        return mockMvc.perform(post("/api/orders/checkout")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"memberId\": " + memberId + ", \"lines\": " + lines + "}"));
+    }
+
+    private static List<Long> orderIds(String json) {
+        List<Number> ids = JsonPath.read(json, "$.data[*].orderId");
+        return ids.stream().map(Number::longValue).toList();
+    }
+}
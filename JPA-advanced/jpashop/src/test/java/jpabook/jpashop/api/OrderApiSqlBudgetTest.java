@@ -0,0 +1,82 @@
+package jpabook.jpashop.api;
+
+import jpabook.jpashop.monitoring.SqlStatementCountFilter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 주문 API 쿼리 예산
+ * - 엔드포인트별 SQL 실행 횟수 상한, 넘으면 실패 (N+1 회귀 방지)
+ * - InitDb 주문 2건 기준
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class OrderApiSqlBudgetTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+
+    @Test
+    @DisplayName("V4 단순 주문 조회 - 1 Query")
+    void 단순_주문_V4() throws Exception {
+        mockMvc.perform(get("/api/v4/simple-orders"))
+                .andExpect(status().isOk())
+                .andExpect(sqlStatementsAtMost(1));
+    }
+
+    @Test
+    @DisplayName("V5 주문 조회 - 1 + 1 Query")
+    void 주문_V5() throws Exception {
+        mockMvc.perform(get("/api/v5/orders"))
+                .andExpect(status().isOk())
+                .andExpect(sqlStatementsAtMost(2));
+    }
+
+    @Test
+    @DisplayName("V6 주문 조회 - 1 Query")
+    void 주문_V6() throws Exception {
+        mockMvc.perform(get("/api/v6/orders"))
+                .andExpect(status().isOk())
+                .andExpect(sqlStatementsAtMost(1));
+    }
+
+    @Test
+    @DisplayName("V6.1 주문 페이징 조회 - 1 + 1 Query")
+    void 주문_V6_1() throws Exception {
+        mockMvc.perform(get("/api/v6.1/orders").param("offset", "0").param("limit", "10"))
+                .andExpect(status().isOk())
+                .andExpect(sqlStatementsAtMost(2));
+    }
+
+    @Test
+    @DisplayName("V2 주문 조회 - 지연 로딩 N+1 감지")
+    void 주문_V2_N플러스1() throws Exception {
+        String statements = mockMvc.perform(get("/api/v2/orders"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(SqlStatementCountFilter.HEADER);
+
+        assertThat(Long.parseLong(statements)).isGreaterThan(2);
+    }
+
+
+    /* 쿼리 예산 */
+    private static ResultMatcher sqlStatementsAtMost(int budget) {
+        return result -> {
+            String header = result.getResponse().getHeader(SqlStatementCountFilter.HEADER);
+            assertThat(header).as("%s 헤더", SqlStatementCountFilter.HEADER).isNotNull();
+            assertThat(Long.parseLong(header))
+                    .as("%s 쿼리 예산", result.getRequest().getRequestURI())
+                    .isLessThanOrEqualTo(budget);
+        };
+    }
+}
@@ -0,0 +1,68 @@
+package jpabook.jpashop.api;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jpabook.jpashop.domain.Order;
+import jpabook.jpashop.domain.OrderSearch;
+import jpabook.jpashop.json.OrderJsonWriter;
+import jpabook.jpashop.repository.OrderRepository;
+import jpabook.jpashop.repository.order.simplequery.OrderSimpleQueryRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.MockHttpOutputMessage;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+/* ObjectMapper 로 직렬화한 결과와 같은지 비교 */
+@SpringBootTest
+@Transactional
+class OrderJsonHttpMessageConverterTest {
+
+    @Autowired
+    private OrderJsonWriter orderJsonWriter;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private OrderRepository orderRepository;
+    @Autowired
+    private OrderSimpleQueryRepository orderSimpleQueryRepository;
+
+
+    @Test
+    @DisplayName("주문 DTO 목록 JSON")
+    void 주문_DTO_목록() throws Exception {
+        List<Order> orders = orderRepository.findAllByString(new OrderSearch());
+        assertThat(orders).isNotEmpty();
+
+        assertSameJson(orders.stream().map(OrderApiController.OrderDto::new).toList());
+        assertSameJson(orders.stream().map(OrderSimpleApiController.SimpleOrderDto::new).toList());
+        assertSameJson(orderRepository.findAllByDto_optimization());
+        assertSameJson(orderSimpleQueryRepository.findOrderDtos());
+    }
+
+    @Test
+    @DisplayName("커서 페이징 응답 JSON")
+    void 커서_페이징_응답() throws Exception {
+        List<OrderApiController.OrderDto> data = orderRepository.findAllWithMemberDelivery(null, null, 10).stream()
+                .map(OrderApiController.OrderDto::new)
+                .toList();
+
+        assertSameJson(new CursorResult<>(data.size(), data, null));
+        assertSameJson(new CursorResult<>(data.size(), data, "next"));
+    }
+
+
+    private void assertSameJson(Object value) throws Exception {
+        MockHttpOutputMessage outputMessage = new MockHttpOutputMessage();
+        new OrderJsonHttpMessageConverter(orderJsonWriter).write(value, null, MediaType.APPLICATION_JSON, outputMessage);
+
+        String actual = outputMessage.getBodyAsString();
+        String expected = objectMapper.writeValueAsString(value);
+        assertThat(actual).isEqualTo(expected);
+    }
+}
@@ -0,0 +1,100 @@
+package jpabook.jpashop.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+/* 두 개의 H2 메모리 DB 를 primary / replica 로 사용 */
+class ReplicaRoutingDataSourceTest {
+
+    private JdbcTemplate replicaJdbc;
+    private ReplicaLagMonitor lagMonitor;
+    private JdbcTemplate jdbc;
+    private TransactionTemplate writeTx;
+    private TransactionTemplate readTx;
+
+    @BeforeEach
+    void setUp() {
+        DataSource primary = h2("primary");
+        DataSource replica = h2("replica");
+        replicaJdbc = new JdbcTemplate(replica);
+        replicaJdbc.execute("create table replica_lag (lag_seconds double)");
+        replicaJdbc.update("insert into replica_lag values (0)");
+
+        lagMonitor = new ReplicaLagMonitor(replica, "select lag_seconds from replica_lag", 5);
+        DataSource dataSource = new LazyConnectionDataSourceProxy(new ReplicaRoutingDataSource(primary, replica, lagMonitor));
+
+        jdbc = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        writeTx = new TransactionTemplate(transactionManager);
+        readTx = new TransactionTemplate(transactionManager);
+        readTx.setReadOnly(true);
+    }
+
+    @Test
+    @DisplayName("읽기 전용 트랜잭션은 레플리카, 쓰기 트랜잭션은 primary")
+    void 읽기_쓰기_라우팅() throws Exception {
+        assertThat(nodeIn(writeTx)).isEqualTo("primary");
+        assertThat(nodeIn(readTx)).isEqualTo("replica");
+        assertThat(node()).isEqualTo("primary");     // 트랜잭션 밖
+    }
+
+    @Test
+    @DisplayName("레플리카 지연이 크면 읽기도 primary")
+    void 레플리카_지연_폴백() throws Exception {
+        //given
+        replicaJdbc.update("update replica_lag set lag_seconds = 30");
+
+        //when
+        lagMonitor.check();
+
+        //then
+        assertThat(nodeIn(readTx)).isEqualTo("primary");
+
+        replicaJdbc.update("update replica_lag set lag_seconds = 0");
+        lagMonitor.check();
+        assertThat(nodeIn(readTx)).isEqualTo("replica");
+    }
+
+    @Test
+    @DisplayName("레플리카 장애면 읽기도 primary")
+    void 레플리카_장애_폴백() throws Exception {
+        //given
+        replicaJdbc.execute("drop table replica_lag");
+
+        //when
+        lagMonitor.check();
+
+        //then
+        assertThat(lagMonitor.isReplicaUsable()).isFalse();
+        assertThat(nodeIn(readTx)).isEqualTo("primary");
+    }
+
+
+    private String node() {
+        return jdbc.queryForObject("select name from node", String.class);
+    }
+
+    private String nodeIn(TransactionTemplate tx) {
+        return tx.execute(status -> node());
+    }
+
+    private DataSource h2(String name) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + name + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("create table node (name varchar(20))");
+        jdbcTemplate.update("insert into node values (?)", name);
+        return dataSource;
+    }
+}
@@ -0,0 +1,33 @@
+package jpabook.jpashop.controller;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ItemControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+
+    @Test
+    @DisplayName("상품 목록 - 음수 offset 은 0, limit 은 1 ~ 1000 으로 맞춘다")
+    void 상품_목록_페이징_범위() throws Exception {
+        mockMvc.perform(get("/items").param("offset", "-10").param("limit", "100000"))
+                .andExpect(status().isOk())
+                .andExpect(model().attribute("offset", 0))
+                .andExpect(model().attribute("limit", 1000));
+
+        mockMvc.perform(get("/items").param("limit", "-1"))
+                .andExpect(status().isOk())
+                .andExpect(model().attribute("limit", 1));
+    }
+}
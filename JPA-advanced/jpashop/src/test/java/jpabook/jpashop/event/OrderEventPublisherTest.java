@@ -0,0 +1,238 @@
+package jpabook.jpashop.event;
+
+import jpabook.jpashop.domain.OrderEventType;
+import jpabook.jpashop.domain.OrderOutbox;
+import jpabook.jpashop.repository.OrderOutboxRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.*;
+
+/* 아웃박스 저장소는 메모리 스텁, 트랜잭션은 H2 메모리 DB */
+class OrderEventPublisherTest {
+
+    private StubOutboxRepository outboxRepository;
+    private DataSourceTransactionManager transactionManager;
+    private OrderEventPublisher publisher;
+
+    @BeforeEach
+    void setUp() {
+        outboxRepository = new StubOutboxRepository();
+        transactionManager = new DataSourceTransactionManager(new DriverManagerDataSource(
+                "jdbc:h2:mem:outbox-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", ""));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (publisher != null) {
+            publisher.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("모든 리스너가 처리한 뒤에 발행 완료로 표시")
+    void 처리_후_발행_완료() throws Exception {
+        //given
+        RecordingListener first = new RecordingListener();
+        RecordingListener second = new RecordingListener();
+        publisher = publisher(1, 1000, first, second);
+        outboxRepository.add(1L, 2L, 3L);
+        List<Integer> processedWhenMarked = new ArrayList<>();
+        outboxRepository.onMarkPublished = () -> processedWhenMarked.add(first.eventIds.size() + second.eventIds.size());
+
+        //when
+        publisher.publish();
+
+        //then
+        assertThat(outboxRepository.publishedIds()).containsExactly(1L, 2L, 3L);
+        assertThat(first.eventIds).containsExactly(1L, 2L, 3L);
+        assertThat(second.eventIds).containsExactly(1L, 2L, 3L);
+        assertThat(processedWhenMarked).containsExactly(6);
+    }
+
+    @Test
+    @DisplayName("리스너가 제시간에 처리하지 못하면 롤백 - 발행 완료로 표시하지 않고 다음 주기에 다시 발행")
+    void 처리_시간_초과_롤백() throws Exception {
+        //given
+        RecordingListener fast = new RecordingListener();
+        BlockingListener slow = new BlockingListener();
+        publisher = publisher(1, 100, fast, slow);
+        outboxRepository.add(1L, 2L);
+
+        //when
+        publisher.publish();
+
+        //then
+        assertThat(outboxRepository.publishedIds()).isEmpty();
+        assertThat(fast.eventIds).containsExactly(1L, 2L);
+
+        //when - 느린 리스너가 따라잡은 뒤 다시 발행
+        slow.release();
+        publisher.publish();
+
+        //then - 이미 받은 리스너도 다시 받는다 (at-least-once)
+        assertThat(outboxRepository.publishedIds()).containsExactly(1L, 2L);
+        assertThat(fast.eventIds).containsExactly(1L, 2L, 1L, 2L);
+    }
+
+    @Test
+    @DisplayName("리스너 큐가 가득 차면 롤백 (backpressure)")
+    void 큐_초과_롤백() throws Exception {
+        //given
+        BlockingListener slow = new BlockingListener();
+        publisher = publisher(1, 50, slow);
+        outboxRepository.add(1L);
+        publisher.publish();    // 리스너가 첫 배치를 붙잡고 있음
+        publisher.publish();    // 두 번째 배치가 큐를 채움
+
+        //when
+        publisher.publish();
+
+        //then
+        assertThat(outboxRepository.publishedIds()).isEmpty();
+
+        slow.release();
+        publisher.shutdown();
+        assertThat(slow.eventIds).containsExactly(1L, 1L);     // 세 번째 배치는 큐에 들어가지 못함
+    }
+
+    @Test
+    @DisplayName("리스너가 실패하면 발행 완료로 표시하지 않음")
+    void 리스너_실패_롤백() throws Exception {
+        //given
+        publisher = publisher(1, 1000, event -> {
+            throw new IllegalStateException("처리 실패");
+        });
+        outboxRepository.add(1L);
+
+        //when
+        publisher.publish();
+
+        //then
+        assertThat(outboxRepository.publishedIds()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("종료 시 큐에 남은 배치를 처리한 뒤 끝낸다")
+    void 종료_시_큐_비우기() throws Exception {
+        //given
+        BlockingListener slow = new BlockingListener();
+        publisher = publisher(1, 10_000, slow);
+        outboxRepository.add(1L, 2L);
+        Thread publishing = new Thread(publisher::publish);
+        publishing.start();
+        slow.awaitStarted();
+
+        //when
+        Thread closing = new Thread(publisher::shutdown);
+        closing.start();
+        slow.release();
+        closing.join(5_000);
+        publishing.join(5_000);
+
+        //then
+        assertThat(slow.eventIds).containsExactly(1L, 2L);
+        assertThat(outboxRepository.publishedIds()).containsExactly(1L, 2L);
+    }
+
+
+    private OrderEventPublisher publisher(int queueCapacity, long processTimeoutMillis, OrderEventListener... listeners) {
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+        for (int i = 0; i < listeners.length; i++) {
+            beanFactory.addBean("listener" + i, listeners[i]);
+        }
+        return new OrderEventPublisher(outboxRepository, transactionManager,
+                beanFactory.getBeanProvider(OrderEventListener.class), 100, queueCapacity, 50, processTimeoutMillis);
+    }
+
+    private class StubOutboxRepository extends OrderOutboxRepository {
+
+        private final Map<Long, OrderOutbox> outboxes = new HashMap<>();
+        private Runnable onMarkPublished = () -> {};
+
+        StubOutboxRepository() {
+            super(null);
+        }
+
+        void add(Long... ids) {
+            for (Long id : ids) {
+                OrderOutbox outbox = OrderOutbox.create(id * 10, OrderEventType.ORDERED);
+                outbox.setId(id);
+                outboxes.put(id, outbox);
+            }
+        }
+
+        synchronized List<Long> publishedIds() {
+            return outboxes.values().stream()
+                    .filter(outbox -> outbox.getPublishedAt() != null)
+                    .map(OrderOutbox::getId)
+                    .sorted()
+                    .toList();
+        }
+
+        @Override
+        public synchronized List<OrderOutbox> claimBatch(int batchSize) {
+            return outboxes.values().stream()
+                    .filter(outbox -> outbox.getPublishedAt() == null)
+                    .sorted((a, b) -> a.getId().compareTo(b.getId()))
+                    .limit(batchSize)
+                    .toList();
+        }
+
+        @Override
+        public synchronized void markPublished(List<Long> ids, LocalDateTime publishedAt) {
+            onMarkPublished.run();
+            ids.forEach(id -> outboxes.get(id).setPublishedAt(publishedAt));
+        }
+    }
+
+    private static class RecordingListener implements OrderEventListener {
+
+        final List<Long> eventIds = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void onEvent(OrderEvent event) {
+            eventIds.add(event.getEventId());
+        }
+    }
+
+    private static class BlockingListener extends RecordingListener {
+
+        private final CountDownLatch started = new CountDownLatch(1);
+        private final CountDownLatch released = new CountDownLatch(1);
+
+        @Override
+        public void onEvent(OrderEvent event) {
+            started.countDown();
+            try {
+                released.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+            super.onEvent(event);
+        }
+
+        void awaitStarted() throws InterruptedException {
+            started.await();
+        }
+
+        void release() {
+            released.countDown();
+        }
+    }
+}
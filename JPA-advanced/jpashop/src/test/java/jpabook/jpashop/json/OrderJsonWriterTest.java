@@ -0,0 +1,77 @@
+package jpabook.jpashop.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jpabook.jpashop.repository.OrderRepository;
+import jpabook.jpashop.repository.order.query.OrderQueryDto;
+import jpabook.jpashop.repository.order.simplequery.OrderSimpleQueryDto;
+import jpabook.jpashop.repository.order.simplequery.OrderSimpleQueryRepository;
+import jpabook.jpashop.service.OrderExportService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+/* ObjectMapper 로 직렬화한 결과와 같은지 비교 */
+@SpringBootTest
+@Transactional
+class OrderJsonWriterTest {
+
+    @Autowired
+    private OrderJsonWriter orderJsonWriter;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private OrderRepository orderRepository;
+    @Autowired
+    private OrderSimpleQueryRepository orderSimpleQueryRepository;
+    @Autowired
+    private OrderExportService orderExportService;
+
+
+    @Test
+    @DisplayName("조회용 주문 DTO 목록 JSON")
+    void 조회용_주문_DTO_목록() throws Exception {
+        List<OrderQueryDto> orders = orderRepository.findAllByDto_optimization();
+        List<OrderSimpleQueryDto> simpleOrders = orderSimpleQueryRepository.findOrderDtos();
+        assertThat(orders).isNotEmpty();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (JsonGenerator generator = orderJsonWriter.createGenerator(out)) {
+            orderJsonWriter.writeArray(generator, orders, orderJsonWriter::write);
+        }
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo(objectMapper.writeValueAsString(orders));
+
+        out.reset();
+        try (JsonGenerator generator = orderJsonWriter.createGenerator(out)) {
+            orderJsonWriter.writeArray(generator, simpleOrders, orderJsonWriter::write);
+        }
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo(objectMapper.writeValueAsString(simpleOrders));
+    }
+
+    @Test
+    @DisplayName("주문 내보내기 NDJSON")
+    void 주문_내보내기() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long exported = orderExportService.exportOrders(out);
+
+        List<OrderQueryDto> expected = orderRepository.findAllByDto_flat();
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(exported).isEqualTo(expected.size());
+        assertThat(lines).hasSize(expected.size());
+        for (String line : lines) {
+            JsonNode order = objectMapper.readTree(line);
+            assertThat(order.has("orderId")).isTrue();
+            assertThat(order.get("orderItems").isArray()).isTrue();
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package jpabook.jpashop.monitoring;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+class SqlLoggerTest {
+
+    @Test
+    @DisplayName("SQL 리터럴 가리기")
+    void 리터럴_가리기() throws Exception {
+        String sql = "select o1_0.order_id from orders o1_0 where o1_0.status='ORDER' and o1_0.total_price>=10000 and m1_0.name='it''s' fetch first ? rows only";
+
+        assertThat(SqlLogger.redact(sql))
+                .isEqualTo("select o1_0.order_id from orders o1_0 where o1_0.status=? and o1_0.total_price>=? and m1_0.name=? fetch first ? rows only");
+    }
+
+    @Test
+    @DisplayName("잘못된 SQL 로그 설정")
+    void 잘못된_설정() throws Exception {
+        SqlLogger sqlLogger = new SqlLogger(true, 0, 100, true);
+
+        assertThatThrownBy(() -> sqlLogger.update(null, -1, null, null))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(sqlLogger.getSampleRate()).isZero();
+    }
+
+    @Test
+    @DisplayName("배치 / 일반 statement 실행 시간을 각자의 SQL 로 남기기")
+    void statement_별_SQL() throws Exception {
+        //given
+        SqlLogger sqlLogger = new SqlLogger(true, 1, 0, false);     // 모두 샘플링
+        sqlLogger.register();
+        Logger logger = (Logger) LoggerFactory.getLogger("jpashop.sql");
+        ListAppender<ILoggingEvent> appender = new ListAppender<>();
+        appender.start();
+        logger.addAppender(appender);
+
+        CountingStatementInspector inspector = new CountingStatementInspector();
+        SqlTimingSessionListener listener = new SqlTimingSessionListener();
+
+        try {
+            //when
+            prepare(inspector, listener, "insert into item");
+            prepare(inspector, listener, "insert into book");
+            listener.jdbcExecuteBatchStart();
+            listener.jdbcExecuteBatchEnd();
+            listener.jdbcExecuteBatchStart();
+            listener.jdbcExecuteBatchEnd();
+
+            prepare(inspector, listener, "select never executed");
+            prepare(inspector, listener, "select orders");
+            listener.jdbcExecuteStatementStart();
+            listener.jdbcExecuteStatementEnd();
+            listener.jdbcExecuteBatchStart();       // 남은 SQL 없음 - 남기지 않음
+            listener.jdbcExecuteBatchEnd();
+
+            //then
+            List<String> messages = appender.list.stream().map(ILoggingEvent::getFormattedMessage).toList();
+            assertThat(messages).hasSize(3);
+            assertThat(messages.get(0)).startsWith("[SAMPLE BATCH]").endsWith("insert into item");
+            assertThat(messages.get(1)).startsWith("[SAMPLE BATCH]").endsWith("insert into book");
+            assertThat(messages.get(2)).startsWith("[SAMPLE]").endsWith("select orders");
+            assertThat(SqlLogger.takePrepared()).isNull();
+        } finally {
+            logger.detachAppender(appender);
+            sqlLogger.unregister();
+        }
+    }
+
+    private void prepare(CountingStatementInspector inspector, SqlTimingSessionListener listener, String sql) {
+        inspector.inspect(sql);
+        listener.jdbcPrepareStatementStart();
+        listener.jdbcPrepareStatementEnd();
+    }
+}
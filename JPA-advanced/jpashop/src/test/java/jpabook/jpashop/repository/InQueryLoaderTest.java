@@ -0,0 +1,38 @@
+package jpabook.jpashop.repository;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InQueryLoaderTest {
+
+    @Test
+    @DisplayName("최대 크기 단위로 나누기 - 채우기는 하이버네이트 IN 절 패딩")
+    void 묶음_분할() throws Exception {
+        //given
+        List<Long> ids = LongStream.rangeClosed(1, InQueryLoader.MAX_CHUNK_SIZE + 3)
+                .boxed()
+                .collect(Collectors.toList());
+
+        //when
+        List<List<Long>> chunks = InQueryLoader.partition(ids);
+
+        //then
+        assertThat(chunks).hasSize(2);
+        assertThat(chunks.get(0)).hasSize(InQueryLoader.MAX_CHUNK_SIZE);
+        assertThat(chunks.get(1)).containsExactly(513L, 514L, 515L);
+    }
+
+    @Test
+    @DisplayName("중복 id 제거")
+    void 중복_제거() throws Exception {
+        List<List<Long>> chunks = InQueryLoader.partition(List.of(1L, 1L, 2L));
+
+        assertThat(chunks).containsExactly(List.of(1L, 2L));
+    }
+}
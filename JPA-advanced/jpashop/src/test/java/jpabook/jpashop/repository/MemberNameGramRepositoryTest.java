@@ -0,0 +1,160 @@
+package jpabook.jpashop.repository;
+
+import jakarta.persistence.EntityManager;
+import jpabook.jpashop.domain.Item.Book;
+import jpabook.jpashop.domain.Member;
+import jpabook.jpashop.domain.Order;
+import jpabook.jpashop.domain.OrderSearch;
+import jpabook.jpashop.monitoring.SqlStatementCounter;
+import jpabook.jpashop.service.MemberService;
+import jpabook.jpashop.service.OrderService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+class MemberNameGramRepositoryTest {
+
+    @Autowired
+    private MemberService memberService;
+    @Autowired
+    private OrderService orderService;
+    @Autowired
+    private OrderRepository orderRepository;
+    @Autowired
+    private MemberNameGramRepository memberNameGramRepository;
+    @Autowired
+    private EntityManager em;
+
+    private String suffix;
+    private Long kimId;
+
+    @BeforeEach
+    void setUp() {
+        suffix = String.valueOf(System.nanoTime());
+        Book book = new Book();
+        book.setName("색인 BOOK");
+        book.setPrice(10000);
+        book.setStockQuantity(100);
+        em.persist(book);
+
+        kimId = joinAndOrder("김철수" + suffix, book);
+        joinAndOrder("박철수민" + suffix, book);
+        joinAndOrder("이영희" + suffix, book);
+    }
+
+
+    @Test
+    @DisplayName("like 패턴에서 3-gram 추출")
+    void 패턴_gram() throws Exception {
+        assertThat(MemberNameGramRepository.likePatternGrams("%김철수%")).containsExactly("김철수");
+        assertThat(MemberNameGramRepository.likePatternGrams("%ABcd%")).containsExactly("abc", "bcd");
+        assertThat(MemberNameGramRepository.likePatternGrams("%홍길%동")).isEmpty();
+        assertThat(MemberNameGramRepository.likePatternGrams("%a\\%bc%")).isEmpty();
+        assertThat(MemberNameGramRepository.startsWithWildcard("김철수%")).isFalse();
+    }
+
+    @Test
+    @DisplayName("주문 회원 이름 부분 검색 - 색인 사용 / 짧은 검색어는 like 만")
+    void 이름_부분_검색() throws Exception {
+        //when, then
+        assertThat(memberNames(orderRepository.findAllByCriteria(search("철수"))))
+                .containsExactlyInAnyOrder("김철수" + suffix, "박철수민" + suffix);
+        assertThat(memberNames(orderRepository.findAllBySearch(search("%철수%"))))
+                .containsExactlyInAnyOrder("김철수" + suffix, "박철수민" + suffix);
+        assertThat(memberNames(orderRepository.findAllByString(search("%철수민" + suffix))))
+                .containsExactly("박철수민" + suffix);
+        assertThat(memberNames(orderRepository.findAllByCriteria(search("철"))))
+                .contains("김철수" + suffix, "박철수민" + suffix);
+        assertThat(memberNames(orderRepository.findAllBySearch(search("%수철%")))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("이름 변경 시 색인 교체")
+    void 이름_변경() throws Exception {
+        //when
+        memberService.update(kimId, "김영수" + suffix);
+
+        //then
+        assertThat(memberNames(orderRepository.findAllByCriteria(search("철수"))))
+                .containsExactly("박철수민" + suffix);
+        assertThat(memberNames(orderRepository.findAllByCriteria(search("영수"))))
+                .contains("김영수" + suffix);
+    }
+
+    @Test
+    @DisplayName("색인 교체는 delete 1번 + insert 배치 1번 (SQL 실행 횟수에 포함)")
+    void 색인_교체_SQL_횟수() throws Exception {
+        //given
+        em.flush();
+        long before = SqlStatementCounter.count();
+
+        //when
+        memberNameGramRepository.replace(kimId, "가나다라");
+
+        //then
+        assertThat(SqlStatementCounter.count() - before).isEqualTo(2);
+        assertThat(gramCount(kimId)).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("색인이 없는 회원들을 insert 배치 한 번으로 색인")
+    void 색인_없는_회원_색인() throws Exception {
+        //given
+        Member first = new Member();
+        first.setName("가나다" + suffix);
+        em.persist(first);
+        Member second = new Member();
+        second.setName("라마" + suffix);
+        em.persist(second);
+        em.flush();
+        long before = SqlStatementCounter.count();
+
+        //when
+        memberNameGramRepository.index(List.<Object[]>of(
+                new Object[]{first.getId(), first.getName()},
+                new Object[]{second.getId(), second.getName()}));
+
+        //then
+        assertThat(SqlStatementCounter.count() - before).isEqualTo(1);
+        assertThat(gramCount(first.getId())).isEqualTo(MemberNameGramRepository.gramsOf(first.getName()).size());
+        assertThat(gramCount(second.getId())).isEqualTo(MemberNameGramRepository.gramsOf(second.getName()).size());
+    }
+
+
+    private Long joinAndOrder(String name, Book book) {
+        Member member = new Member();
+        member.setName(name);
+        Long memberId = memberService.join(member);
+        orderService.Order(memberId, book.getId(), 1);
+        return memberId;
+    }
+
+    private static OrderSearch search(String memberName) {
+        OrderSearch orderSearch = new OrderSearch();
+        orderSearch.setMemberName(memberName);
+        return orderSearch;
+    }
+
+    private List<String> memberNames(List<Order> orders) {
+        return orders.stream()
+                .map(order -> order.getMember().getName())
+                .filter(name -> name.contains(suffix))
+                .collect(Collectors.toList());
+    }
+
+    private long gramCount(Long memberId) {
+        return em.createQuery("select count(g) from MemberNameGram g where g.memberId = :memberId", Long.class)
+                .setParameter("memberId", memberId)
+                .getSingleResult();
+    }
+}
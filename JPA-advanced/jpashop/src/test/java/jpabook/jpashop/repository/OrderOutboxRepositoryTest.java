@@ -0,0 +1,89 @@
+package jpabook.jpashop.repository;
+
+import jakarta.persistence.EntityManager;
+import jpabook.jpashop.domain.OrderEventType;
+import jpabook.jpashop.domain.OrderOutbox;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+class OrderOutboxRepositoryTest {
+
+    @Autowired
+    private OrderOutboxRepository orderOutboxRepository;
+    @Autowired
+    private EntityManager em;
+
+    @Test
+    @DisplayName("발행 전 이벤트만 id 순서로 가져오기")
+    void 발행_전_이벤트_가져오기() throws Exception {
+        //given
+        Long first = persist(null);
+        Long published = persist(LocalDateTime.now());
+        Long second = persist(null);
+        em.flush();
+        em.clear();
+
+        //when
+        List<Long> claimed = ids(orderOutboxRepository.claimBatch(Integer.MAX_VALUE));
+
+        //then
+        assertThat(claimed).contains(first, second).doesNotContain(published);
+        assertThat(claimed).isSorted();
+    }
+
+    @Test
+    @DisplayName("배치 크기만큼만 가져오기")
+    void 배치_크기() throws Exception {
+        //given
+        persist(null);
+        persist(null);
+        persist(null);
+        em.flush();
+
+        //when
+        List<OrderOutbox> claimed = orderOutboxRepository.claimBatch(2);
+
+        //then
+        assertThat(claimed).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("발행 완료로 표시한 이벤트는 다시 가져오지 않음")
+    void 발행_완료_표시() throws Exception {
+        //given
+        Long first = persist(null);
+        Long second = persist(null);
+        em.flush();
+
+        //when
+        orderOutboxRepository.markPublished(List.of(first), LocalDateTime.now());
+        em.clear();
+
+        //then
+        List<Long> claimed = ids(orderOutboxRepository.claimBatch(Integer.MAX_VALUE));
+        assertThat(claimed).contains(second).doesNotContain(first);
+        assertThat(em.find(OrderOutbox.class, first).getPublishedAt()).isNotNull();
+    }
+
+
+    private Long persist(LocalDateTime publishedAt) {
+        OrderOutbox outbox = OrderOutbox.create(1L, OrderEventType.ORDERED);
+        outbox.setPublishedAt(publishedAt);
+        em.persist(outbox);
+        return outbox.getId();
+    }
+
+    private List<Long> ids(List<OrderOutbox> outboxes) {
+        return outboxes.stream().map(OrderOutbox::getId).toList();
+    }
+}
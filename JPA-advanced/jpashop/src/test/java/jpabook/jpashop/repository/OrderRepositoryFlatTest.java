@@ -0,0 +1,108 @@
+package jpabook.jpashop.repository;
+
+import jakarta.persistence.EntityManager;
+import jpabook.jpashop.domain.Address;
+import jpabook.jpashop.domain.Item.Book;
+import jpabook.jpashop.domain.Member;
+import jpabook.jpashop.dto.CartLine;
+import jpabook.jpashop.repository.order.query.OrderQueryDto;
+import jpabook.jpashop.service.OrderService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/* V6 (flat 1 Query) 결과가 V5 (1 + 1 Query) 와 같은 주문 트리로 묶이는지 */
+@SpringBootTest
+@Transactional
+class OrderRepositoryFlatTest {
+
+    @Autowired
+    private OrderRepository orderRepository;
+    @Autowired
+    private OrderService orderService;
+    @Autowired
+    private EntityManager em;
+
+
+    @Test
+    @DisplayName("flat 조회 - 주문 상품이 여러 개인 주문도 V5 와 같은 트리")
+    void flat_조회_V5_비교() throws Exception {
+        //given
+        Long orderId = createOrders();
+
+        //when
+        List<OrderQueryDto> flat = sorted(orderRepository.findAllByDto_flat());
+        List<OrderQueryDto> optimized = sorted(orderRepository.findAllByDto_optimization());
+
+        //then
+        assertThat(flat).usingRecursiveComparison()
+                .ignoringCollectionOrderInFields("orderItems")
+                .isEqualTo(optimized);
+
+        OrderQueryDto threeItems = flat.stream()
+                .filter(order -> order.getOrderId().equals(orderId))
+                .findFirst()
+                .orElseThrow();
+        assertThat(threeItems.getOrderItems()).hasSize(3);
+        assertThat(flat).hasSize(optimized.size());
+    }
+
+    @Test
+    @DisplayName("flat 조회 페이징 - 주문 상품 수와 상관없이 주문 단위로 자르고 V5 와 같은 트리")
+    void flat_조회_페이징_V5_비교() throws Exception {
+        //given
+        createOrders();
+        List<OrderQueryDto> optimized = sorted(orderRepository.findAllByDto_optimization());
+
+        //when, then
+        for (int offset = 0; offset < optimized.size(); offset += 2) {
+            List<OrderQueryDto> page = sorted(orderRepository.findAllByDto_flat(offset, 2));
+            assertThat(page).usingRecursiveComparison()
+                    .ignoringCollectionOrderInFields("orderItems")
+                    .isEqualTo(optimized.subList(offset, Math.min(offset + 2, optimized.size())));
+        }
+    }
+
+
+    /* 주문 상품 3개, 2개, 1개인 주문 - 상품 3개인 주문 id 반환 */
+    private Long createOrders() {
+        Member member = new Member();
+        member.setName("flat회원-" + System.nanoTime());
+        member.setAddress(new Address("서울", "거리", "123-123"));
+        em.persist(member);
+
+        Book jpa = createBook("JPA", 10000);
+        Book spring = createBook("SPRING", 20000);
+        Book kotlin = createBook("KOTLIN", 30000);
+
+        Long orderId = orderService.checkout(member.getId(),
+                List.of(new CartLine(jpa.getId(), 1), new CartLine(spring.getId(), 2), new CartLine(kotlin.getId(), 3)));
+        orderService.checkout(member.getId(), List.of(new CartLine(jpa.getId(), 4), new CartLine(kotlin.getId(), 5)));
+        orderService.checkout(member.getId(), List.of(new CartLine(spring.getId(), 6)));
+        em.flush();
+        em.clear();
+        return orderId;
+    }
+
+    private Book createBook(String name, int price) {
+        Book book = new Book();
+        book.setName(name);
+        book.setPrice(price);
+        book.setStockQuantity(100);
+        em.persist(book);
+        return book;
+    }
+
+    private static List<OrderQueryDto> sorted(List<OrderQueryDto> orders) {
+        return orders.stream()
+                .sorted(Comparator.comparing(OrderQueryDto::getOrderId))
+                .toList();
+    }
+}
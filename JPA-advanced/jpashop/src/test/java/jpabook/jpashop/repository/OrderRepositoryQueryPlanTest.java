@@ -0,0 +1,193 @@
+package jpabook.jpashop.repository;
+
+import jpabook.jpashop.domain.OrderCancelCondition;
+import jpabook.jpashop.domain.OrderSearch;
+import jpabook.jpashop.domain.OrderStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 주문 리포지토리 쿼리 실행 계획
+ * - 메서드가 실행한 SQL 을 H2 쿼리 통계(INFORMATION_SCHEMA.QUERY_STATISTICS)로 모으고, 하나씩 EXPLAIN 해서 테이블 전체 스캔(tableScan)을 센다.
+ * - 조건이 있는 조회는 전체 스캔 0, 조건 없이 전체 목록을 읽는 조회는 기준 테이블 1개만 허용 (조인 / 서브쿼리 쪽은 인덱스를 타야 한다)
+ * - SET QUERY_STATISTICS 는 H2 에서 트랜잭션을 커밋하므로 테스트 메서드에 @Transactional 을 붙이지 않고, 각 호출을 롤백 트랜잭션으로 실행한다.
+ * - 실행 계획은 파라미터 값과 상관없으므로 EXPLAIN 파라미터는 모두 null 로 채운다.
+ * - 이 테스트 전용 메모리 DB 를 Flyway 로 만들고 DataSeeder 로 정해진 양의 데이터를 넣는다. (쿼리 통계 설정은 DB 전체에 적용되므로 다른 테스트와 DB 를 나누지 않는다)
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:query-plan-${random.uuid};DB_CLOSE_DELAY=-1",
+        "jpashop.seed.members=1000",
+        "jpashop.seed.items=100",
+        "jpashop.seed.chunk-size=250",
+        "jpashop.seed.threads=4"
+})
+@ActiveProfiles("seed")
+class OrderRepositoryQueryPlanTest {
+
+    private static final Pattern TABLE_SCAN = Pattern.compile("/\\*\\s*[\\w\"]+\\.\"?(\\w+)\"?\\.tableScan");
+    private static final Pattern ORDER_TABLES = Pattern.compile("\\b(orders|order_item)\\b");
+
+    @Autowired
+    private OrderRepository orderRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate rollbackTx;
+
+    @BeforeEach
+    void setUp() {
+        rollbackTx = new TransactionTemplate(transactionManager);
+    }
+
+
+    @Test
+    @DisplayName("단건 조회 / id 조건 조회 - 전체 스캔 X")
+    void id_조건_조회() throws Exception {
+        assertTableScansAtMost(0, repository -> repository.findOne(1L));
+        assertTableScansAtMost(0, repository -> repository.findItemIds(List.of(1L, 2L)));
+    }
+
+    @Test
+    @DisplayName("IN 절 패딩 - id 3개도 하이버네이트가 4개짜리 SQL 로 채운다")
+    void IN_절_패딩() throws Exception {
+        List<String> statements = capture(repository -> repository.findItemIds(List.of(1L, 2L, 3L)));
+
+        assertThat(statements)
+                .extracting(sql -> sql.replaceAll("\\s", ""))
+                .anySatisfy(sql -> assertThat(sql).contains("in(?,?,?,?)"));
+    }
+
+    @Test
+    @DisplayName("주문 검색 - 주문 상태는 idx_orders_status_order_date, 회원 이름은 3-gram 색인")
+    void 주문_검색() throws Exception {
+        assertTableScansAtMost(0, repository -> repository.findAllByString(search(OrderStatus.ORDER, null)));
+        assertTableScansAtMost(0, repository -> repository.findAllBySearch(search(OrderStatus.ORDER, null)));
+        assertTableScansAtMost(0, repository -> repository.findAllBySearch(search(null, "%serA%")));
+        assertTableScansAtMost(0, repository -> repository.findAllByCriteria(search(null, "serA")));
+    }
+
+    @Test
+    @DisplayName("키셋 페이징 - idx_orders_order_date_id 범위 조회")
+    void 키셋_페이징() throws Exception {
+        assertTableScansAtMost(0, repository ->
+                repository.findAllWithMemberDelivery(LocalDateTime.now().minusDays(1), 1L, 10));
+        assertTableScansAtMost(1, repository -> repository.findAllWithMemberDelivery(null, null, 10));
+    }
+
+    @Test
+    @DisplayName("일괄 취소 / 총액 재계산 - 주문 id, 회원 id 조건은 인덱스로")
+    void 일괄_취소() throws Exception {
+        OrderCancelCondition condition = new OrderCancelCondition();
+        condition.setMemberId(1L);
+
+        assertTableScansAtMost(0, repository -> repository.findCancelableIdsForUpdate(condition));
+        assertTableScansAtMost(0, repository -> repository.cancelAll(List.of(-1L)));
+        assertTableScansAtMost(0, repository -> repository.recalculateTotals(List.of(-1L)));
+    }
+
+    @Test
+    @DisplayName("전체 목록 조회 - 기준 테이블만 스캔, 주문 상품 / 회원 / 배송 / 상품은 인덱스 조회")
+    void 전체_목록_조회() throws Exception {
+        assertTableScansAtMost(1, OrderRepository::findAllWithMemberDelivery);
+        assertTableScansAtMost(1, OrderRepository::findAllWithItem);
+        assertTableScansAtMost(1, repository -> repository.findAllWithMemberDelivery(0, 10));
+        assertTableScansAtMost(1, OrderRepository::findOrderQueryDtos);
+        assertTableScansAtMost(1, OrderRepository::findAllByDto_optimization);
+        assertTableScansAtMost(1, OrderRepository::findAllByDto_flat);
+        assertTableScansAtMost(1, repository -> repository.findAllByDto_flat(0, 10));
+        assertTableScansAtMost(1, repository -> repository.streamAllByDto(100, dto -> {
+        }));
+        assertTableScansAtMost(1, OrderRepository::findTotalMismatchedIds);
+    }
+
+
+    /* 호출이 실행한 주문 SQL 마다 전체 스캔 수가 maxScans 이하 */
+    private void assertTableScansAtMost(int maxScans, Consumer<OrderRepository> call) {
+        List<String> statements = capture(call);
+        assertThat(statements).as("실행한 주문 SQL").isNotEmpty();
+
+        for (String sql : statements) {
+            String plan = explain(sql);
+            assertThat(tableScans(plan))
+                    .as("전체 스캔 테이블\n%s", plan)
+                    .hasSizeLessThanOrEqualTo(maxScans);
+        }
+    }
+
+    /* 쿼리 통계를 비우고 호출을 실행한 뒤, 주문 / 주문 상품 테이블을 읽거나 바꾸는 SQL 만 모은다. (다른 스레드의 아웃박스 조회 등 제외) */
+    private List<String> capture(Consumer<OrderRepository> call) {
+        jdbcTemplate.execute("SET QUERY_STATISTICS FALSE");
+        jdbcTemplate.execute("SET QUERY_STATISTICS TRUE");
+        try {
+            rollbackTx.executeWithoutResult(status -> {
+                call.accept(orderRepository);
+                status.setRollbackOnly();
+            });
+            return jdbcTemplate.queryForList("select sql_statement from information_schema.query_statistics", String.class)
+                    .stream()
+                    .filter(sql -> {
+                        String lower = sql.strip().toLowerCase(Locale.ROOT);
+                        return (lower.startsWith("select") || lower.startsWith("update") || lower.startsWith("delete"))
+                                && !lower.contains("information_schema")
+                                && ORDER_TABLES.matcher(lower).find();
+                    })
+                    .collect(Collectors.toList());
+        } finally {
+            jdbcTemplate.execute("SET QUERY_STATISTICS FALSE");
+        }
+    }
+
+    private String explain(String sql) {
+        return jdbcTemplate.execute((ConnectionCallback<String>) connection -> {
+            try (PreparedStatement ps = connection.prepareStatement("EXPLAIN " + sql)) {
+                int parameterCount = ps.getParameterMetaData().getParameterCount();
+                for (int i = 1; i <= parameterCount; i++) {
+                    ps.setObject(i, null);
+                }
+                try (ResultSet rs = ps.executeQuery()) {
+                    rs.next();
+                    return rs.getString(1);
+                }
+            }
+        });
+    }
+
+    private static List<String> tableScans(String plan) {
+        List<String> tables = new ArrayList<>();
+        Matcher matcher = TABLE_SCAN.matcher(plan);
+        while (matcher.find()) {
+            tables.add(matcher.group(1));
+        }
+        return tables;
+    }
+
+    private static OrderSearch search(OrderStatus status, String memberName) {
+        OrderSearch orderSearch = new OrderSearch();
+        orderSearch.setOrderStatus(status);
+        orderSearch.setMemberName(memberName);
+        return orderSearch;
+    }
+}
@@ -0,0 +1,160 @@
+package jpabook.jpashop.repository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import jpabook.jpashop.domain.Address;
+import jpabook.jpashop.domain.Item.Book;
+import jpabook.jpashop.domain.Member;
+import jpabook.jpashop.domain.Order;
+import jpabook.jpashop.domain.OrderSearch;
+import jpabook.jpashop.domain.OrderStatus;
+import jpabook.jpashop.service.ItemService;
+import jpabook.jpashop.service.MemberService;
+import jpabook.jpashop.service.OrderService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+class OrderSearchQueriesTest {
+
+    @Autowired
+    private OrderRepository orderRepository;
+    @Autowired
+    private MemberService memberService;
+    @Autowired
+    private ItemService itemService;
+    @Autowired
+    private OrderService orderService;
+    @Autowired
+    private EntityManager em;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+
+    @Test
+    @DisplayName("조건 조합마다 named query 가 등록되어 있다")
+    void 조건_조합_등록() throws Exception {
+        for (int mask = 0; mask < OrderSearchQueries.VARIANTS; mask++) {
+            assertThat(em.createNamedQuery("Order.search." + mask, Order.class).getParameters())
+                    .hasSize(parameterCount(mask));
+        }
+    }
+
+    @Test
+    @DisplayName("모든 조건 조합에서 findAllByString 과 같은 주문을 찾고, 모두 사전 컴파일된 쿼리를 쓴다")
+    void 조건_조합_결과_비교() throws Exception {
+        //given
+        String token = "srch" + System.nanoTime();
+        createOrders(token);
+        List<OrderSearch> searches = searches(token);
+        assertThat(expected(searches.get(6))).as("3-gram 색인 조건 - 회원 kim 의 주문").hasSize(2);
+        double hits = count("hit");
+        double misses = count("miss");
+
+        //when, then
+        boolean[] used = new boolean[OrderSearchQueries.VARIANTS];
+        for (OrderSearch orderSearch : searches) {
+            used[OrderSearchQueries.conditionMask(orderSearch)] = true;
+            assertThat(ids(orderRepository.findAllBySearch(orderSearch)))
+                    .as("status=%s, name=%s, minTotalPrice=%s",
+                            orderSearch.getOrderStatus(), orderSearch.getMemberName(), orderSearch.getMinTotalPrice())
+                    .containsExactlyInAnyOrderElementsOf(expected(orderSearch));
+        }
+
+        // MEMBER_NAME_GRAM 은 MEMBER_NAME 과 함께일 때만 쓰이므로 나머지 조합은 모두 한 번 이상 실행
+        for (int mask = 0; mask < OrderSearchQueries.VARIANTS; mask++) {
+            boolean reachable = (mask & OrderSearchQueries.MEMBER_NAME_GRAM) == 0
+                    || (mask & OrderSearchQueries.MEMBER_NAME) != 0;
+            assertThat(used[mask]).as("mask=%d", mask).isEqualTo(reachable);
+        }
+        assertThat(count("hit") - hits).isEqualTo(searches.size());
+        assertThat(count("miss") - misses).isZero();
+    }
+
+
+    /* 회원 2명, 총액이 다른 주문 3건 (1건 취소) */
+    private void createOrders(String token) {
+        Long kim = join(token + "-kim");
+        Long lee = join(token + "-lee");
+        Long itemId = createBook(10000);
+
+        orderService.Order(kim, itemId, 1);
+        orderService.Order(kim, itemId, 3);
+        Long canceled = orderService.Order(lee, itemId, 2);
+        orderService.cancel(canceled);
+        em.flush();
+        em.clear();
+    }
+
+    /* 상태 x 회원 이름(없음 / 접두어 / 3-gram 색인 / gram 없는 와일드카드) x 최소 총액 */
+    private List<OrderSearch> searches(String token) {
+        List<OrderStatus> statuses = Arrays.asList(null, OrderStatus.ORDER, OrderStatus.CANCEL);
+        List<String> names = Arrays.asList(null, "", token + "%", "%" + token + "-kim", "%" + token.substring(0, 2) + "%");
+        List<Integer> minTotalPrices = Arrays.asList(null, 20000);
+
+        List<OrderSearch> searches = new ArrayList<>();
+        for (OrderStatus status : statuses) {
+            for (String name : names) {
+                for (Integer minTotalPrice : minTotalPrices) {
+                    OrderSearch orderSearch = new OrderSearch();
+                    orderSearch.setOrderStatus(status);
+                    orderSearch.setMemberName(name);
+                    orderSearch.setMinTotalPrice(minTotalPrice);
+                    searches.add(orderSearch);
+                }
+            }
+        }
+        return searches;
+    }
+
+    /* findAllByString 은 최소 총액 조건이 없으므로 결과를 걸러서 비교 */
+    private List<Long> expected(OrderSearch orderSearch) {
+        return orderRepository.findAllByString(orderSearch).stream()
+                .filter(order -> orderSearch.getMinTotalPrice() == null || order.getTotalPrice() >= orderSearch.getMinTotalPrice())
+                .map(Order::getId)
+                .toList();
+    }
+
+    private static List<Long> ids(List<Order> orders) {
+        return orders.stream().map(Order::getId).toList();
+    }
+
+    private static int parameterCount(int mask) {
+        int count = 0;
+        if ((mask & OrderSearchQueries.STATUS) != 0) count++;
+        if ((mask & OrderSearchQueries.MEMBER_NAME) != 0) count++;
+        if ((mask & OrderSearchQueries.MEMBER_NAME_GRAM) != 0) count += 2;
+        if ((mask & OrderSearchQueries.MIN_TOTAL_PRICE) != 0) count++;
+        return count;
+    }
+
+    private double count(String result) {
+        return meterRegistry.get("order.search.query").tag("result", result).counter().count();
+    }
+
+    private Long join(String name) {
+        Member member = new Member();
+        member.setName(name);
+        member.setAddress(new Address("서울", "거리", "123-123"));
+        return memberService.join(member);
+    }
+
+    private Long createBook(int price) {
+        Book book = new Book();
+        book.setName("검색 BOOK");
+        book.setPrice(price);
+        book.setStockQuantity(100);
+        itemService.saveItem(book);
+        return book.getId();
+    }
+}
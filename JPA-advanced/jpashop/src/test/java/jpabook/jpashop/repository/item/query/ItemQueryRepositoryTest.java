@@ -0,0 +1,81 @@
+package jpabook.jpashop.repository.item.query;
+
+import jakarta.persistence.EntityManager;
+import jpabook.jpashop.domain.Category;
+import jpabook.jpashop.domain.Item.Book;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SpringBootTest
+@Transactional
+class ItemQueryRepositoryTest {
+
+    @Autowired
+    private ItemQueryRepository itemQueryRepository;
+    @Autowired
+    private EntityManager em;
+
+
+    @Test
+    @DisplayName("카테고리를 포함한 상품 목록 조회")
+    void 카테고리_포함_상품_목록() throws Exception {
+        //given
+        Book jpa = createBook("JPA");
+        Book spring = createBook("Spring");
+        Book novel = createBook("소설");
+        Category it = createCategory("IT", jpa, spring);
+        Category best = createCategory("베스트", jpa);
+        em.flush();
+        em.clear();
+
+        //when
+        List<ItemQueryDto> items = itemQueryRepository.findItemsAfter(jpa.getId() - 1, 3);
+
+        //then
+        assertThat(items).extracting(ItemQueryDto::getName).containsExactly("JPA", "Spring", "소설");
+        assertThat(items.get(0).getCategories()).extracting(ItemCategoryQueryDto::getName).containsExactly("IT", "베스트");
+        assertThat(items.get(1).getCategories()).extracting(ItemCategoryQueryDto::getCategoryId).containsExactly(it.getId());
+        assertThat(items.get(2).getCategories()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("상품 목록 키셋 페이징")
+    void 상품_목록_키셋_페이징() throws Exception {
+        //given
+        Book first = createBook("첫번째");
+        Book second = createBook("두번째");
+
+        //when
+        List<ItemQueryDto> page = itemQueryRepository.findItemsAfter(first.getId(), 1);
+
+        //then
+        assertThat(page).extracting(ItemQueryDto::getId).containsExactly(second.getId());
+    }
+
+
+    /* 상품 생성 */
+    private Book createBook(String name) {
+        Book book = new Book();
+        book.setName(name);
+        book.setPrice(10000);
+        book.setStockQuantity(10);
+        em.persist(book);
+        return book;
+    }
+
+    /* 카테고리 생성 */
+    private Category createCategory(String name, Book... books) {
+        Category category = new Category();
+        category.setName(name);
+        category.getItems().addAll(List.of(books));
+        em.persist(category);
+        return category;
+    }
+}
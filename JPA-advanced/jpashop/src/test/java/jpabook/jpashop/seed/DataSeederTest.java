@@ -0,0 +1,65 @@
+package jpabook.jpashop.seed;
+
+import jakarta.persistence.EntityManager;
+import jpabook.jpashop.domain.Member;
+import jpabook.jpashop.service.MemberService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "jpashop.seed.members=500",
+        "jpashop.seed.items=50",
+        "jpashop.seed.chunk-size=100",
+        "jpashop.seed.batch-size=64",
+        "jpashop.seed.threads=4"
+})
+@ActiveProfiles("seed")
+@Transactional
+class DataSeederTest {
+
+    @Autowired
+    private EntityManager em;
+    @Autowired
+    private MemberService memberService;
+
+
+    @Test
+    @DisplayName("대량 데이터 생성")
+    void 대량_데이터_생성() throws Exception {
+        assertThat(count("select count(m) from Member m")).isEqualTo(500);
+        assertThat(count("select count(i) from Item i")).isEqualTo(50);
+        assertThat(count("select count(o) from Order o"))
+                .isEqualTo(count("select count(d) from Delivery d"))
+                .isPositive();
+        assertThat(count("select count(o) from Order o where o.totalPrice <>" +
+                " (select sum(oi.orderPrice * oi.count) from OrderItem oi where oi.order = o)")).isZero();
+        assertThat(count("select count(m) from Member m where m.name in ('userA', 'userB')"))
+                .as("seed 프로필에서는 InitDb 를 실행하지 않는다.").isZero();
+    }
+
+    @Test
+    @DisplayName("데이터 생성 후 시퀀스로 저장")
+    void 데이터_생성_후_저장() throws Exception {
+        //given
+        Long maxId = em.createQuery("select max(m.id) from Member m", Long.class).getSingleResult();
+        Member member = new Member();
+        member.setName("seed 이후 회원");
+
+        //when
+        Long id = memberService.join(member);
+
+        //then
+        assertThat(id).isGreaterThan(maxId);
+    }
+
+
+    private long count(String jpql) {
+        return em.createQuery(jpql, Long.class).getSingleResult();
+    }
+}
@@ -0,0 +1,165 @@
+package jpabook.jpashop.service;
+
+import jakarta.persistence.EntityManager;
+import jpabook.jpashop.domain.Category;
+import jpabook.jpashop.domain.Item.Book;
+import jpabook.jpashop.domain.Item.Item;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SpringBootTest
+@Transactional
+class CategoryServiceTest {
+
+    @Autowired
+    private CategoryService categoryService;
+    @Autowired
+    private EntityManager em;
+
+
+    @Test
+    @DisplayName("하위 트리 조회")
+    void 하위_트리_조회() throws Exception {
+        //given
+        Category root = createCategory("도서", null);
+        Category it = createCategory("IT", root);
+        Category java = createCategory("자바", it);
+        createCategory("소설", root);
+        Category other = createCategory("음반", null);
+
+        //when
+        List<Category> subtree = categoryService.findSubtree(it.getId());
+
+        //then
+        assertThat(java.getPath()).isEqualTo("/" + root.getId() + "/" + it.getId() + "/" + java.getId() + "/");
+        assertThat(subtree).extracting(Category::getName).containsExactly("IT", "자바");
+        assertThat(categoryService.findSubtree(root.getId())).hasSize(4).doesNotContain(other);
+    }
+
+    @Test
+    @DisplayName("상위 카테고리로 하위 전체 상품 조회")
+    void 하위_전체_상품_조회() throws Exception {
+        //given
+        Category root = createCategory("도서", null);
+        Category it = createCategory("IT", root);
+        Category java = createCategory("자바", it);
+        Book jpa = createBook("JPA");
+        Book spring = createBook("Spring");
+        it.getItems().add(jpa);
+        java.getItems().add(jpa);       // 여러 카테고리에 속한 상품
+        java.getItems().add(spring);
+        em.flush();
+
+        //when
+        List<Item> items = categoryService.findItemsUnder(root.getId());
+
+        //then
+        assertThat(items).extracting(Item::getName).containsExactlyInAnyOrder("JPA", "Spring");
+    }
+
+    @Test
+    @DisplayName("카테고리 이동")
+    void 카테고리_이동() throws Exception {
+        //given
+        Category books = createCategory("도서", null);
+        Category it = createCategory("IT", books);
+        Category java = createCategory("자바", it);
+        Category ebooks = createCategory("전자책", null);
+
+        //when
+        categoryService.moveCategory(it.getId(), ebooks.getId());
+
+        //then
+        Category movedJava = em.find(Category.class, java.getId());
+        assertThat(movedJava.getPath()).startsWith("/" + ebooks.getId() + "/" + it.getId() + "/");
+        assertThat(categoryService.findSubtree(ebooks.getId())).hasSize(3);
+        assertThat(categoryService.findSubtree(books.getId())).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("하위 카테고리 아래로 이동")
+    void 하위_카테고리_아래로_이동() throws Exception {
+        Category root = createCategory("도서", null);
+        Category it = createCategory("IT", root);
+
+        assertThatThrownBy(() -> categoryService.moveCategory(root.getId(), it.getId()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+
+    @Test
+    @DisplayName("루트로 이동하면 손자 카테고리 경로까지 바뀐다")
+    void 루트로_이동() throws Exception {
+        //given
+        Category books = createCategory("도서", null);
+        Category it = createCategory("IT", books);
+        Category java = createCategory("자바", it);
+
+        //when
+        categoryService.moveCategory(it.getId(), null);
+
+        //then
+        Category movedIt = em.find(Category.class, it.getId());
+        Category movedJava = em.find(Category.class, java.getId());
+        assertThat(movedIt.getParent()).isNull();
+        assertThat(movedJava.getPath()).isEqualTo("/" + it.getId() + "/" + java.getId() + "/");
+        assertThat(categoryService.findSubtree(books.getId())).extracting(Category::getName).containsExactly("도서");
+    }
+
+    @Test
+    @DisplayName("저장된 카테고리는 setChildCategory 로 옮길 수 없다 (하위 경로가 남으므로)")
+    void 저장된_카테고리_연관관계_변경() throws Exception {
+        Category books = createCategory("도서", null);
+        Category it = createCategory("IT", books);
+        Category ebooks = createCategory("전자책", null);
+
+        assertThatThrownBy(() -> ebooks.setChildCategory(it))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(it.getParent()).isSameAs(books);
+    }
+
+    @Test
+    @DisplayName("경로가 없는 카테고리는 하위 트리 조회 / 이동 거부")
+    void 경로_없는_카테고리() throws Exception {
+        //given - 경로 컬럼이 생기기 전 데이터
+        Long id = -1L;
+        em.createNativeQuery("insert into category (category_id, name) values (:id, '경로 없음')")
+                .setParameter("id", id)
+                .executeUpdate();
+        Category root = createCategory("도서", null);
+
+        //when, then
+        assertThatThrownBy(() -> categoryService.findSubtree(id)).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> categoryService.findItemsUnder(id)).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> categoryService.moveCategory(id, root.getId())).isInstanceOf(IllegalStateException.class);
+    }
+
+
+    /* 카테고리 생성 */
+    private Category createCategory(String name, Category parent) {
+        Category category = new Category();
+        category.setName(name);
+        if (parent != null) {
+            parent.setChildCategory(category);
+        }
+        categoryService.saveCategory(category);
+        return category;
+    }
+
+    /* 상품 생성 */
+    private Book createBook(String name) {
+        Book book = new Book();
+        book.setName(name);
+        book.setPrice(10000);
+        book.setStockQuantity(10);
+        em.persist(book);
+        return book;
+    }
+}
@@ -0,0 +1,162 @@
+package jpabook.jpashop.service;
+
+import jakarta.persistence.EntityManager;
+import jpabook.jpashop.domain.Address;
+import jpabook.jpashop.domain.Item.Book;
+import jpabook.jpashop.domain.Item.Item;
+import jpabook.jpashop.domain.Member;
+import jpabook.jpashop.exception.NotEnoughStockException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 동시 주문 재고 차감
+ * - 여러 스레드가 각자 트랜잭션으로 같은 상품을 주문하므로 테스트 메서드에 @Transactional 을 붙이지 않는다.
+ */
+@SpringBootTest
+class ItemStockConcurrencyTest {
+
+    private static final int STOCK = 100;
+    private static final int ORDERS = 300;
+    private static final int THREADS = 32;
+
+    @Autowired
+    private OrderService orderService;
+    @Autowired
+    private ItemService itemService;
+    @Autowired
+    private EntityManager em;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    @DisplayName("동시 주문시 재고만큼만 주문 성공")
+    void 동시_주문_재고_차감() throws Exception {
+        //given
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        Long[] ids = createMemberAndBook(tx, STOCK);
+        Long memberId = ids[0];
+        Long itemId = ids[1];
+
+        AtomicInteger success = new AtomicInteger();
+        AtomicInteger notEnoughStock = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+
+        //when
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < ORDERS; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                try {
+                    orderService.Order(memberId, itemId, 1);
+                    success.incrementAndGet();
+                } catch (NotEnoughStockException e) {
+                    notEnoughStock.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        //then
+        Integer stock = tx.execute(status -> em.find(Item.class, itemId).getStockQuantity());
+
+        assertThat(success.get()).isEqualTo(STOCK);
+        assertThat(notEnoughStock.get()).isEqualTo(ORDERS - STOCK);
+        assertThat(stock).isZero();
+    }
+
+    @Test
+    @DisplayName("상품 수정 중에 커밋된 주문의 재고 차감을 덮어쓰지 않는다")
+    void 상품_수정_재고_유지() throws Exception {
+        //given
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        Long[] ids = createMemberAndBook(tx, STOCK);
+        Long memberId = ids[0];
+        Long itemId = ids[1];
+
+        //when - 수정 트랜잭션이 재고를 읽은 뒤 다른 트랜잭션의 주문이 커밋
+        tx.executeWithoutResult(status -> {
+            int loadedStock = itemService.findOne(itemId).getStockQuantity();
+            orderInOtherThread(memberId, itemId, 3);
+            itemService.updateItem(itemId, "수정 BOOK", 12000, loadedStock + 5);
+        });
+
+        //then
+        Item item = tx.execute(status -> em.find(Item.class, itemId));
+        assertThat(item.getName()).isEqualTo("수정 BOOK");
+        assertThat(item.getPrice()).isEqualTo(12000);
+        assertThat(item.getStockQuantity()).isEqualTo(STOCK - 3 + 5);
+    }
+
+    @Test
+    @DisplayName("주문 취소 중에 커밋된 주문의 재고 차감을 덮어쓰지 않는다")
+    void 주문_취소_재고_유지() throws Exception {
+        //given
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        Long[] ids = createMemberAndBook(tx, STOCK);
+        Long memberId = ids[0];
+        Long itemId = ids[1];
+        Long orderId = orderService.Order(memberId, itemId, 10);
+
+        //when - 취소 트랜잭션이 상품을 읽은 뒤 다른 트랜잭션의 주문이 커밋
+        tx.executeWithoutResult(status -> {
+            itemService.findOne(itemId);
+            orderInOtherThread(memberId, itemId, 5);
+            orderService.cancel(orderId);
+        });
+
+        //then
+        Integer stock = tx.execute(status -> em.find(Item.class, itemId).getStockQuantity());
+        assertThat(stock).isEqualTo(STOCK - 5);
+    }
+
+
+    private Long[] createMemberAndBook(TransactionTemplate tx, int stock) {
+        return tx.execute(status -> {
+            Member member = new Member();
+            member.setName("동시주문회원-" + System.nanoTime());
+            member.setAddress(new Address("서울", "거리", "123-123"));
+            em.persist(member);
+
+            Book book = new Book();
+            book.setName("동시주문 BOOK");
+            book.setPrice(10000);
+            book.setStockQuantity(stock);
+            em.persist(book);
+
+            return new Long[]{member.getId(), book.getId()};
+        });
+    }
+
+    private void orderInOtherThread(Long memberId, Long itemId, int count) {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            executor.submit(() -> orderService.Order(memberId, itemId, count)).get(30, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package jpabook.jpashop.service;
+
+import jpabook.jpashop.repository.member.query.MemberQueryDto;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MemberNameIndexTest {
+
+    @Test
+    @DisplayName("바뀐 회원 교체 - 이름 변경은 새 이름으로, 목록에 없는 회원은 삭제")
+    void 바뀐_회원_교체() throws Exception {
+        //given
+        MemberNameIndex index = new MemberNameIndex();
+        index.rebuild(List.of(new MemberQueryDto(1L, "Kim"), new MemberQueryDto(2L, "Lee"), new MemberQueryDto(3L, "Park")));
+
+        //when
+        index.replace(List.of(1L, 2L), List.of(new MemberQueryDto(1L, "Kang")));
+
+        //then
+        assertThat(index.search("kim", 10)).isEmpty();
+        assertThat(index.search("kang", 10)).extracting("id").containsExactly(1L);
+        assertThat(index.search("lee", 10)).isEmpty();
+        assertThat(index.search("park", 10)).extracting("id").containsExactly(3L);
+        assertThat(index.size()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("이름이 그대로인 회원 교체 - 같은 키에서 값만 바뀐다")
+    void 같은_이름_교체() throws Exception {
+        //given
+        MemberNameIndex index = new MemberNameIndex();
+        index.rebuild(List.of(new MemberQueryDto(1L, "Kim")));
+        MemberQueryDto before = index.search("kim", 1).get(0);
+
+        //when
+        index.replace(List.of(1L), List.of(new MemberQueryDto(1L, "Kim")));
+
+        //then
+        assertThat(index.search("kim", 10)).extracting("id").containsExactly(1L);
+        assertThat(index.search("kim", 1).get(0)).isNotSameAs(before);     // 새 복사본으로 교체
+    }
+}
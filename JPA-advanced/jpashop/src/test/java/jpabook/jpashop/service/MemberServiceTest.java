@@ -6,7 +6,20 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.junit.jupiter.api.Assertions.*;
@@ -22,6 +35,12 @@ class MemberServiceTest {
     @Autowired
     private MemberService memberService;
 
+    @Autowired
+    private MemberNameFilter memberNameFilter;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
     @Test
     @DisplayName("회원가입")
     void 회원가입() throws Exception {
@@ -54,4 +73,98 @@ class MemberServiceTest {
         //then
         assertThatThrownBy(() -> memberService.join(member2)).isInstanceOf(IllegalStateException.class);
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("필터에 없는 중복 이름은 유니크 제약으로 막기")
+    void 유니크_제약_중복회원예외() throws Exception {
+        //given
+        Member member1 = new Member();
+        member1.setName("회원C");
+        memberRepository.save(member1);     // 필터를 거치지 않고 저장 (동시 가입과 같은 상황)
+
+        Member member2 = new Member();
+        member2.setName("회원C");
+
+        //when, then
+        assertThatThrownBy(() -> memberService.join(member2)).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    @DisplayName("회원 이름 필터")
+    void 회원_이름_필터() throws Exception {
+        //given
+        Member member = new Member();
+        member.setName("회원D");
+
+        //when
+        memberService.join(member);
+
+        //then
+        assertThat(memberNameFilter.mightContain("회원D")).isTrue();
+        assertThat(memberNameFilter.mightContain("없는회원-" + UUID.randomUUID())).isFalse();     // 재구성이 끝난 뒤에는 없는 이름을 걸러낸다
+        assertThat(memberNameFilter.mightContain(null)).isFalse();
+    }
+
+    /**
+     * 동시 가입
+     * - 먼저 가입한 쪽이 커밋하기 전에 같은 이름으로 가입하면 중복 확인 조회는 통과하고 INSERT 가 유니크 인덱스에서 기다린다.
+     * - 먼저 가입한 쪽이 커밋하면 늦은 쪽은 uk_member_name 위반 -> IllegalStateException
+     * - 두 가입이 각자 트랜잭션으로 커밋되어야 하므로 테스트 트랜잭션은 사용하지 않는다.
+     */
+    @Test
+    @DisplayName("동시 가입 - 유니크 제약 위반을 IllegalStateException 으로 변환")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void 동시_가입_유니크_제약() throws Exception {
+        //given
+        String name = "동시회원-" + UUID.randomUUID();
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        AtomicReference<Thread> secondThread = new AtomicReference<>();
+
+        //when
+        Future<Long> second;
+        try {
+            second = tx.execute(status -> {
+                memberService.join(member(name));
+                Future<Long> future = executor.submit(() -> {
+                    secondThread.set(Thread.currentThread());
+                    return memberService.join(member(name));
+                });
+                awaitUniqueCheck(secondThread);
+                return future;
+            });
+        } finally {
+            executor.shutdown();
+        }
+
+        //then
+        ExecutionException thrown = catchThrowableOfType(() -> second.get(10, TimeUnit.SECONDS), ExecutionException.class);
+        assertThat(thrown.getCause())
+                .isInstanceOf(IllegalStateException.class)
+                .hasCauseInstanceOf(DataIntegrityViolationException.class);
+        assertThat(memberRepository.findByName(name)).hasSize(1);
+    }
+
+    private static Member member(String name) {
+        Member member = new Member();
+        member.setName(name);
+        return member;
+    }
+
+    /* 스레드가 유니크 인덱스에서 커밋되지 않은 같은 이름을 만나 재시도할 때까지 대기 (H2 는 잠금 시간 안에서 반복 확인) */
+    private static void awaitUniqueCheck(AtomicReference<Thread> thread) {
+        long deadline = System.currentTimeMillis() + 1000;
+        while (!isCheckingUnique(thread.get())) {
+            if (System.currentTimeMillis() > deadline) {
+                throw new AssertionError("두 번째 가입이 유니크 인덱스 확인에서 기다리지 않음");
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    private static boolean isCheckingUnique(Thread thread) {
+        return thread != null && Arrays.stream(thread.getStackTrace())
+                .anyMatch(frame -> frame.getClassName().equals("org.h2.mvstore.db.MVSecondaryIndex")
+                        && frame.getMethodName().equals("checkUnique"));
+    }
+}
@@ -0,0 +1,107 @@
+package jpabook.jpashop.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jpabook.jpashop.domain.Address;
+import jpabook.jpashop.domain.Item.Book;
+import jpabook.jpashop.domain.Member;
+import jpabook.jpashop.dto.CartLine;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+class OrderExportServiceTest {
+
+    private static final int ORDERS = 520;      // 응답을 내보내는 간격(500)보다 많이
+
+    @Autowired
+    private OrderExportService orderExportService;
+    @Autowired
+    private OrderService orderService;
+    @Autowired
+    private EntityManager em;
+    @Autowired
+    private ObjectMapper objectMapper;
+
+
+    @Test
+    @DisplayName("주문 전체 내보내기 - 주문 id 순으로 한 줄에 주문 하나, 끝나기 전에 나눠서 내보낸다")
+    void 주문_내보내기() throws Exception {
+        //given - 주문마다 상품 2개
+        Member member = createMember();
+        Book jpa = createBook("JPA", 10000);
+        Book spring = createBook("SPRING", 20000);
+        for (int i = 0; i < ORDERS; i++) {
+            orderService.checkout(member.getId(), List.of(new CartLine(jpa.getId(), 1), new CartLine(spring.getId(), 2)));
+        }
+        em.flush();
+        em.clear();
+        long orderCount = em.createQuery("select count(o) from Order o", Long.class).getSingleResult();
+        long orderItemCount = em.createQuery("select count(oi) from OrderItem oi", Long.class).getSingleResult();
+
+        //when
+        RecordingOutputStream out = new RecordingOutputStream();
+        long exported = orderExportService.exportOrders(out);
+
+        //then - 행 수
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(exported).isEqualTo(orderCount);
+        assertThat(lines).hasSize((int) orderCount);
+
+        //then - 주문 id 순서, 주문 상품은 한 줄에 모두
+        long previousOrderId = Long.MIN_VALUE;
+        long exportedItems = 0;
+        for (String line : lines) {
+            JsonNode order = objectMapper.readTree(line);
+            long orderId = order.get("orderId").asLong();
+            assertThat(orderId).isGreaterThan(previousOrderId);
+            previousOrderId = orderId;
+            exportedItems += order.get("orderItems").size();
+        }
+        assertThat(exportedItems).isEqualTo(orderItemCount);
+
+        //then - 스트리밍: 마지막 주문을 쓰기 전에 이미 응답으로 내보냈다.
+        assertThat(out.flushedSizes.size()).isGreaterThan(1);
+        assertThat(out.flushedSizes.get(0)).isLessThan(out.size());
+    }
+
+
+    /* flush 시점까지 쓴 바이트 수 기록 */
+    static class RecordingOutputStream extends ByteArrayOutputStream {
+        private final List<Integer> flushedSizes = new ArrayList<>();
+
+        @Override
+        public void flush() {
+            flushedSizes.add(size());
+        }
+    }
+
+    private Member createMember() {
+        Member member = new Member();
+        member.setName("내보내기회원-" + System.nanoTime());
+        member.setAddress(new Address("서울", "거리", "123-123"));
+        em.persist(member);
+        return member;
+    }
+
+    private Book createBook(String name, int price) {
+        Book book = new Book();
+        book.setName(name);
+        book.setPrice(price);
+        book.setStockQuantity(10_000);
+        em.persist(book);
+        return book;
+    }
+}
@@ -0,0 +1,148 @@
+package jpabook.jpashop.service;
+
+import jpabook.jpashop.domain.Address;
+import jpabook.jpashop.domain.Item.Book;
+import jpabook.jpashop.domain.Member;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/* 스냅샷은 커밋 후에 바뀌므로 트랜잭션 없이 실행 */
+@SpringBootTest
+class OrderFormCatalogTest {
+
+    @Autowired
+    private OrderFormCatalog orderFormCatalog;
+    @Autowired
+    private MemberNameIndex memberNameIndex;
+    @Autowired
+    private ItemService itemService;
+    @Autowired
+    private MemberService memberService;
+    @Autowired
+    private OrderService orderService;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+
+    @Test
+    @DisplayName("상품 등록 / 수정 / 주문 / 취소가 커밋 후 스냅샷에 반영")
+    void 상품_변경_반영() throws Exception {
+        //given
+        Book book = new Book();
+        book.setName("스냅샷 BOOK");
+        book.setPrice(10000);
+        book.setStockQuantity(10);
+        itemService.saveItem(book);
+
+        Member member = new Member();
+        member.setName("스냅샷회원-" + System.nanoTime());
+        member.setAddress(new Address("서울", "거리", "123-123"));
+        Long memberId = memberService.join(member);
+        orderFormCatalog.awaitRefresh();
+
+        assertThat(orderFormCatalog.current().findItem(book.getId()).getStockQuantity()).isEqualTo(10);
+        assertThat(memberNameIndex.search(member.getName(), 1)).extracting("id").containsExactly(memberId);
+
+        //when
+        itemService.updateItem(book.getId(), "스냅샷 BOOK 개정판", 12000, 10);
+        long version = orderFormCatalog.current().getVersion();
+        Long orderId = orderService.Order(memberId, book.getId(), 3);
+        orderFormCatalog.awaitRefresh();
+
+        //then
+        CatalogSnapshot afterOrder = orderFormCatalog.current();
+        assertThat(afterOrder.getVersion()).isGreaterThan(version);
+        assertThat(afterOrder.findItem(book.getId()).getName()).isEqualTo("스냅샷 BOOK 개정판");
+        assertThat(afterOrder.findItem(book.getId()).getPrice()).isEqualTo(12000);
+        assertThat(afterOrder.findItem(book.getId()).getStockQuantity()).isEqualTo(7);
+
+        orderService.cancel(orderId);
+        orderFormCatalog.awaitRefresh();
+        assertThat(orderFormCatalog.current().findItem(book.getId()).getStockQuantity()).isEqualTo(10);
+        assertThat(afterOrder.findItem(book.getId()).getStockQuantity()).isEqualTo(7);    // 이전 스냅샷은 그대로
+    }
+
+    @Test
+    @DisplayName("롤백된 상품 수정은 스냅샷을 바꾸지 않는다")
+    void 롤백_미반영() throws Exception {
+        //given
+        Book book = new Book();
+        book.setName("롤백 BOOK");
+        book.setPrice(10000);
+        book.setStockQuantity(1);
+        itemService.saveItem(book);
+        orderFormCatalog.awaitRefresh();
+        CatalogSnapshot before = orderFormCatalog.current();
+
+        //when - 변경은 등록되지만 트랜잭션은 롤백
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            itemService.updateItem(book.getId(), "롤백 BOOK 개정판", 20000, 5);
+            status.setRollbackOnly();
+        });
+        orderFormCatalog.awaitRefresh();
+
+        //then
+        CatalogSnapshot after = orderFormCatalog.current();
+        assertThat(after).isSameAs(before);
+        assertThat(after.getVersion()).isEqualTo(before.getVersion());
+        assertThat(after.findItem(book.getId()).getName()).isEqualTo("롤백 BOOK");
+        assertThat(after.findItem(book.getId()).getPrice()).isEqualTo(10000);
+        assertThat(after.findItem(book.getId()).getStockQuantity()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("여러 스레드의 커밋이 커넥션을 더 잡지 않고 모두 반영")
+    void 동시_커밋_반영() throws Exception {
+        //given
+        int threads = 16;
+        List<Book> books = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            Book book = new Book();
+            book.setName("동시 BOOK " + i);
+            book.setPrice(1000);
+            book.setStockQuantity(10);
+            itemService.saveItem(book);
+            books.add(book);
+        }
+
+        //when - 커밋 직후 갱신이 호출 스레드에서 돌면 풀(기본 10)이 바닥나 시간 초과
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            Book book = books.get(i);
+            int price = 2000 + i;
+            futures.add(executor.submit(() -> {
+                start.await();
+                itemService.updateItem(book.getId(), book.getName(), price, 10);
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+        orderFormCatalog.awaitRefresh();
+
+        //then
+        CatalogSnapshot snapshot = orderFormCatalog.current();
+        for (int i = 0; i < threads; i++) {
+            assertThat(snapshot.findItem(books.get(i).getId()).getPrice()).isEqualTo(2000 + i);
+        }
+    }
+}
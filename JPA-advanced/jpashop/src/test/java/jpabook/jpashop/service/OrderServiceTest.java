@@ -2,11 +2,16 @@ package jpabook.jpashop.service;
 
 import jakarta.persistence.EntityManager;
 import jpabook.jpashop.domain.Address;
+import jpabook.jpashop.domain.DeliveryStatus;
 import jpabook.jpashop.domain.Item.Book;
 import jpabook.jpashop.domain.Item.Item;
 import jpabook.jpashop.domain.Member;
 import jpabook.jpashop.domain.Order;
+import jpabook.jpashop.domain.OrderCancelCondition;
+import jpabook.jpashop.domain.OrderEventType;
+import jpabook.jpashop.domain.OrderOutbox;
 import jpabook.jpashop.domain.OrderStatus;
+import jpabook.jpashop.dto.CartLine;
 import jpabook.jpashop.exception.NotEnoughStockException;
 import jpabook.jpashop.repository.OrderRepository;
 import org.junit.jupiter.api.Assertions;
@@ -16,6 +21,8 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+
 import static org.assertj.core.api.Assertions.*;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.fail;
@@ -90,6 +97,122 @@ class OrderServiceTest {
     
 
     
+    @Test
+    @DisplayName("장바구니 주문")
+    void 장바구니_주문() throws Exception {
+        //given
+        Member member = createMember();
+        Item book1 = createBook("JPA", 10000, 10);
+        Item book2 = createBook("SPRING", 20000, 20);
+
+        List<CartLine> cartLines = List.of(
+                new CartLine(book1.getId(), 2),
+                new CartLine(book2.getId(), 3),
+                new CartLine(book1.getId(), 1));
+
+        //when
+        Long orderId = orderService.checkout(member.getId(), cartLines);
+
+        //then
+        Order findOrder = orderRepository.findOne(orderId);
+
+        assertEquals(2, findOrder.getOrderItems().size(), "같은 상품은 한 줄로 합쳐진다.");
+        assertEquals(10000 * 3 + 20000 * 3, findOrder.getTotalPrice(), "주문 가격 = 상품별 가격 * 수량의 합");
+        assertEquals(7, em.find(Item.class, book1.getId()).getStockQuantity(), "주문 수량만큼 재고 감소");
+        assertEquals(17, em.find(Item.class, book2.getId()).getStockQuantity(), "주문 수량만큼 재고 감소");
+    }
+
+    @Test
+    @DisplayName("장바구니 주문 재고 수량 초과")
+    void 장바구니_주문_재고_수량_초과() throws Exception {
+        //given
+        Member member = createMember();
+        Item book1 = createBook("JPA", 10000, 10);
+        Item book2 = createBook("SPRING", 20000, 2);
+
+        List<CartLine> cartLines = List.of(
+                new CartLine(book1.getId(), 1),
+                new CartLine(book2.getId(), 3));
+
+        //when, then
+        assertThatThrownBy(() -> orderService.checkout(member.getId(), cartLines))
+                .isInstanceOf(NotEnoughStockException.class);
+    }
+
+    @Test
+    @DisplayName("장바구니 주문 - 상품 id 가 없거나 수량이 1 미만인 줄")
+    void 장바구니_주문_잘못된_줄() throws Exception {
+        //given
+        Member member = createMember();
+        Item book = createBook("JPA", 10000, 10);
+
+        //when, then
+        assertThatThrownBy(() -> orderService.checkout(member.getId(), List.of(new CartLine(null, 1))))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> orderService.checkout(member.getId(), List.of(new CartLine(book.getId(), 0))))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertEquals(10, book.getStockQuantity());
+    }
+
+
+    @Test
+    @DisplayName("주문 일괄 취소")
+    void 주문_일괄_취소() throws Exception {
+        //given
+        Member member = createMember();
+        Item item = createBook("JPA", 10000, 99);
+
+        Long orderId1 = orderService.Order(member.getId(), item.getId(), 2);
+        Long orderId2 = orderService.Order(member.getId(), item.getId(), 3);
+        Long completedOrderId = orderService.Order(member.getId(), item.getId(), 4);
+        orderRepository.findOne(completedOrderId).getDelivery().setStatus(DeliveryStatus.COMPLETION);
+
+        OrderCancelCondition condition = new OrderCancelCondition();
+        condition.setMemberId(member.getId());
+
+        //when
+        int canceledCount = orderService.cancelAll(condition);
+
+        //then
+        assertEquals(2, canceledCount, "배송 완료된 주문은 취소 대상에서 제외");
+        assertEquals(OrderStatus.CANCEL, orderRepository.findOne(orderId1).getStatus());
+        assertEquals(OrderStatus.CANCEL, orderRepository.findOne(orderId2).getStatus());
+        assertEquals(OrderStatus.ORDER, orderRepository.findOne(completedOrderId).getStatus());
+        assertEquals(99 - 4, em.find(Item.class, item.getId()).getStockQuantity(), "취소된 주문 수량만큼 재고 복구");
+    }
+
+    @Test
+    @DisplayName("조건 없는 주문 일괄 취소")
+    void 조건_없는_일괄_취소() throws Exception {
+        assertThatThrownBy(() -> orderService.cancelAll(new OrderCancelCondition()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+
+    @Test
+    @DisplayName("주문 / 취소 이벤트 아웃박스 저장")
+    void 주문_이벤트_아웃박스() throws Exception {
+        //given
+        Member member = createMember();
+        Item item = createBook("JPA", 10000, 99);
+
+        //when
+        Long orderId = orderService.Order(member.getId(), item.getId(), 1);
+        orderService.cancel(orderId);
+        em.flush();
+
+        //then
+        List<OrderEventType> eventTypes = em.createQuery("select e from OrderOutbox e" +
+                        " where e.orderId = :orderId order by e.id", OrderOutbox.class)
+                .setParameter("orderId", orderId)
+                .getResultList()
+                .stream()
+                .map(OrderOutbox::getEventType)
+                .toList();
+        assertThat(eventTypes).containsExactly(OrderEventType.ORDERED, OrderEventType.CANCELED);
+    }
+
+
     /* 상품 생성 */
     private Book createBook(String name, int price, int stockQuantity) {
         Book book = new Book();
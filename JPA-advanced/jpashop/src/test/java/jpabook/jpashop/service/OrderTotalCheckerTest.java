@@ -0,0 +1,115 @@
+package jpabook.jpashop.service;
+
+import jakarta.persistence.EntityManager;
+import jpabook.jpashop.domain.Address;
+import jpabook.jpashop.domain.Item.Book;
+import jpabook.jpashop.domain.Member;
+import jpabook.jpashop.domain.Order;
+import jpabook.jpashop.repository.OrderRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+class OrderTotalCheckerTest {
+
+    @Autowired
+    private OrderTotalChecker orderTotalChecker;
+    @Autowired
+    private OrderService orderService;
+    @Autowired
+    private OrderRepository orderRepository;
+    @Autowired
+    private EntityManager em;
+
+    private Long corruptedId;
+    private Long otherCorruptedId;
+    private Long intactId;
+
+    @BeforeEach
+    void setUp() {
+        Member member = new Member();
+        member.setName("총액검사회원");
+        member.setAddress(new Address("서울", "강가", "123-123"));
+        em.persist(member);
+
+        Book book = new Book();
+        book.setName("총액 BOOK");
+        book.setPrice(10000);
+        book.setStockQuantity(100);
+        em.persist(book);
+
+        corruptedId = orderService.Order(member.getId(), book.getId(), 2);
+        otherCorruptedId = orderService.Order(member.getId(), book.getId(), 3);
+        intactId = orderService.Order(member.getId(), book.getId(), 1);
+        em.flush();
+
+        corrupt("total_price = 1", corruptedId);
+        corrupt("order_item_count = 5", otherCorruptedId);
+        em.clear();
+    }
+
+
+    @Test
+    @DisplayName("order_item 합계와 다른 총액 / 상품 줄 수 찾기")
+    void 불일치_찾기() throws Exception {
+        //when
+        List<Long> mismatchedIds = orderRepository.findTotalMismatchedIds();
+
+        //then
+        assertThat(mismatchedIds).contains(corruptedId, otherCorruptedId).doesNotContain(intactId);
+    }
+
+    @Test
+    @DisplayName("지정한 주문만 다시 계산")
+    void 지정한_주문만_재계산() throws Exception {
+        //when
+        orderRepository.recalculateTotals(List.of(corruptedId));
+
+        //then
+        Order corrupted = em.find(Order.class, corruptedId);
+        assertThat(corrupted.getTotalPrice()).isEqualTo(20000);
+        assertThat(corrupted.getOrderItemCount()).isEqualTo(1);
+        assertThat(em.find(Order.class, otherCorruptedId).getOrderItemCount()).isEqualTo(5);     // 그대로
+        assertThat(em.find(Order.class, intactId).getTotalPrice()).isEqualTo(10000);
+
+        List<Long> mismatchedIds = orderRepository.findTotalMismatchedIds();
+        assertThat(mismatchedIds).contains(otherCorruptedId).doesNotContain(corruptedId);
+    }
+
+    @Test
+    @DisplayName("정합성 검사가 어긋난 주문을 보고하고 다시 계산")
+    void 검사_후_재계산() throws Exception {
+        //given
+        int expected = orderRepository.findTotalMismatchedIds().size();
+
+        //when
+        int reported = orderTotalChecker.check();
+
+        //then
+        assertThat(reported).isEqualTo(expected).isGreaterThanOrEqualTo(2);
+        assertThat(orderRepository.findTotalMismatchedIds()).isEmpty();
+
+        Order corrupted = em.find(Order.class, corruptedId);
+        Order otherCorrupted = em.find(Order.class, otherCorruptedId);
+        assertThat(corrupted.getTotalPrice()).isEqualTo(20000);
+        assertThat(otherCorrupted.getTotalPrice()).isEqualTo(30000);
+        assertThat(otherCorrupted.getOrderItemCount()).isEqualTo(1);
+    }
+
+
+    /* 엔티티를 거치지 않고 orders 행을 직접 망가뜨림 */
+    private void corrupt(String assignment, Long orderId) {
+        em.createNativeQuery("update orders set " + assignment + " where order_id = :orderId")
+                .setParameter("orderId", orderId)
+                .executeUpdate();
+    }
+}